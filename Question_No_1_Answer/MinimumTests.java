@@ -10,18 +10,23 @@ public class MinimumTests {
      * @param samples The number of available samples.
      * @param levels The number of temperature levels.
      * @return The minimum number of tests required.
+     * @throws IllegalArgumentException If samples is less than 1.
      */
     public static int findMinimumTests(int samples, int levels) {
-        int[][] dp = new int[samples + 1][levels + 1];
-        int tests = 0;
-
-        while (dp[samples][tests] < levels) {
-            tests++;
-            for (int i = 1; i <= samples; i++) {
-                dp[i][tests] = dp[i - 1][tests - 1] + dp[i][tests - 1] + 1;
-            }
-        }
-        return tests;
+        return MinimumTestsSolver.minimumTests(samples, levels);
+    }
+
+    /**
+     * Finds the minimum number of tests with the binomial-sum search, which stays
+     * fast and small even for very large level counts.
+     *
+     * @param samples The number of available samples.
+     * @param levels The number of temperature levels.
+     * @return The minimum number of tests required.
+     * @throws IllegalArgumentException If samples is less than 1.
+     */
+    public static int findMinimumTestsBinomial(int samples, int levels) {
+        return MinimumTestsSolver.minimumTestsBinomial(samples, levels);
     }
 
     public static void main(String[] args) {
@@ -31,6 +36,11 @@ public class MinimumTests {
         runTest(4, 20, 5);
         runTest(2, 10, 4);
         runTest(3, 25, 5);
+        runTest(2, 1000000000, 44721);
+        runBinomialTest(3, 25, 5);
+        runBinomialTest(2, 1000000000, 44721);
+        runBinomialTest(1, 1000000000, 1000000000);
+        runBinomialTest(100, Integer.MAX_VALUE, 31);
     }
 
     /**
@@ -47,4 +57,19 @@ public class MinimumTests {
         System.out.println(result == expected ? "Test PASSED" : "Test FAILED");
         System.out.println();
     }
+
+    /**
+     * Runs a test case to check if the binomial solver works correctly.
+     *
+     * @param samples The number of samples.
+     * @param levels The number of temperature levels.
+     * @param expected The expected number of tests.
+     */
+    private static void runBinomialTest(int samples, int levels, int expected) {
+        int result = findMinimumTestsBinomial(samples, levels);
+        System.out.printf("Samples: %d, Levels: %d (binomial)\n", samples, levels);
+        System.out.printf("Expected: %d, Got: %d\n", expected, result);
+        System.out.println(result == expected ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
 }
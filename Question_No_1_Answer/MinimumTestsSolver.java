@@ -0,0 +1,103 @@
+package Question_No_1_Answer;
+
+/**
+ * Shared solver for the minimum-tests (egg drop) problem.
+ * Both MinimumTests classes delegate here so there is one implementation to tune.
+ */
+public final class MinimumTestsSolver {
+    // 31 tests already cover Integer.MAX_VALUE levels, so more samples never help
+    static final int MAX_USEFUL_SAMPLES = 31;
+
+    private MinimumTestsSolver() {
+    }
+
+    /**
+     * Finds the minimum number of tests needed to determine the critical temperature.
+     * Keeps a single DP row: after t tests, covered[i] is the number of levels that
+     * can be resolved with i samples. Each test updates the row in place from the
+     * highest sample count down, so memory is O(samples) instead of O(samples * levels).
+     *
+     * @param samples The number of available samples.
+     * @param levels The number of temperature levels.
+     * @return The minimum number of tests required.
+     * @throws IllegalArgumentException If samples is less than 1.
+     */
+    public static int minimumTests(int samples, int levels) {
+        checkSamples(samples);
+        int usefulSamples = Math.min(samples, MAX_USEFUL_SAMPLES);
+        if (usefulSamples == 1) {
+            return Math.max(levels, 0); // One sample means testing level by level
+        }
+
+        long[] covered = new long[usefulSamples + 1];
+        int tests = 0;
+        while (covered[usefulSamples] < levels) {
+            tests++;
+            for (int i = usefulSamples; i >= 1; i--) {
+                covered[i] = covered[i - 1] + covered[i] + 1;
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Finds the minimum number of tests without iterating over every test count.
+     * With t tests and k samples at most C(t,1) + ... + C(t,k) levels can be told apart,
+     * so the answer is the smallest t whose coverage reaches the level count.
+     * Runs in O(k log levels) time and constant memory.
+     *
+     * @param samples The number of available samples.
+     * @param levels The number of temperature levels.
+     * @return The minimum number of tests required.
+     * @throws IllegalArgumentException If samples is less than 1.
+     */
+    public static int minimumTestsBinomial(int samples, int levels) {
+        checkSamples(samples);
+        int usefulSamples = Math.min(samples, MAX_USEFUL_SAMPLES);
+        int low = 0, high = levels;
+        while (low < high) {
+            int mid = low + (high - low) / 2;
+            if (coverage(mid, usefulSamples, levels) >= levels) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Rejects sample counts that can never finish the search: with no samples no
+     * level can be tested, so no number of tests is enough.
+     *
+     * @param samples The number of available samples.
+     * @throws IllegalArgumentException If samples is less than 1.
+     */
+    static void checkSamples(int samples) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("At least one sample is required, got " + samples);
+        }
+    }
+
+    /**
+     * Computes C(tests,1) + ... + C(tests,samples), saturating at a cap so the
+     * running sum never overflows.
+     *
+     * @param tests The number of tests.
+     * @param samples The number of samples.
+     * @param cap The value at which to stop summing.
+     * @return The coverage, or cap if it is at least cap.
+     */
+    static long coverage(int tests, int samples, long cap) {
+        long total = 0;
+        long term = 1;
+        for (int i = 1; i <= samples && i <= tests; i++) {
+            term = term * (tests - i + 1) / i; // C(tests, i) from C(tests, i - 1), exact
+            total += term;
+            if (total >= cap) {
+                return cap;
+            }
+        }
+        return total;
+    }
+}
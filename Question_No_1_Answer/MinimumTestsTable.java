@@ -0,0 +1,164 @@
+package Question_No_1_Answer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Precomputed answers for repeated minimum-test queries.
+ * For each sample count the table stores how many levels t tests can cover, for every t
+ * until Integer.MAX_VALUE is reached, so a query is a single binary search.
+ * Rows are built lazily on first use and are safe to read from many threads.
+ */
+public class MinimumTestsTable {
+    private final int maxSamples;
+    private final AtomicReferenceArray<int[]> rows;
+
+    /**
+     * Creates an empty table that caches rows for sample counts up to a limit.
+     *
+     * @param maxSamples The largest sample count to cache; larger counts are solved directly.
+     * @throws IllegalArgumentException If maxSamples is negative.
+     */
+    public MinimumTestsTable(int maxSamples) {
+        if (maxSamples < 0) {
+            throw new IllegalArgumentException("The sample limit cannot be negative, got " + maxSamples);
+        }
+        this.maxSamples = Math.min(maxSamples, MinimumTestsSolver.MAX_USEFUL_SAMPLES);
+        this.rows = new AtomicReferenceArray<>(this.maxSamples + 1);
+    }
+
+    /**
+     * Finds the minimum number of tests needed to determine the critical temperature.
+     *
+     * @param samples The number of available samples.
+     * @param levels The number of temperature levels.
+     * @return The minimum number of tests required.
+     * @throws IllegalArgumentException If samples is less than 1.
+     */
+    public int findMinimumTests(int samples, int levels) {
+        MinimumTestsSolver.checkSamples(samples);
+        int usefulSamples = Math.min(samples, MinimumTestsSolver.MAX_USEFUL_SAMPLES);
+        if (levels <= 0) {
+            return 0;
+        }
+        if (usefulSamples == 1) {
+            return levels; // One sample means testing level by level; no table needed
+        }
+        if (usefulSamples > maxSamples) {
+            return MinimumTestsSolver.minimumTestsBinomial(samples, levels);
+        }
+
+        // Coverage strictly increases with the test count, so the insertion point is the answer.
+        int index = Arrays.binarySearch(rowFor(usefulSamples), levels);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Returns the coverage row for a sample count, building it on first use.
+     * Concurrent first calls may both build the row; only one copy is kept.
+     *
+     * @param samples The number of samples.
+     * @return The coverage for 0, 1, 2, ... tests, ending at Integer.MAX_VALUE.
+     */
+    private int[] rowFor(int samples) {
+        int[] row = rows.get(samples);
+        if (row == null) {
+            row = buildRow(samples);
+            if (!rows.compareAndSet(samples, null, row)) {
+                row = rows.get(samples);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Computes the coverage of every test count until it reaches Integer.MAX_VALUE.
+     *
+     * @param samples The number of samples.
+     * @return The coverage row.
+     */
+    private static int[] buildRow(int samples) {
+        int[] row = new int[64];
+        int tests = 0;
+        while (true) {
+            if (tests == row.length) {
+                row = Arrays.copyOf(row, row.length * 2);
+            }
+            row[tests] = (int) MinimumTestsSolver.coverage(tests, samples, Integer.MAX_VALUE);
+            if (row[tests] == Integer.MAX_VALUE) {
+                return Arrays.copyOf(row, tests + 1);
+            }
+            tests++;
+        }
+    }
+
+    public static void main(String[] args) {
+        MinimumTestsTable table = new MinimumTestsTable(8);
+        runTest(table, 1, 2, 2);
+        runTest(table, 2, 6, 3);
+        runTest(table, 3, 14, 4);
+        runTest(table, 4, 20, 5);
+        runTest(table, 2, 10, 4);
+        runTest(table, 3, 25, 5);
+        runTest(table, 2, 1000000000, 44721);
+        runTest(table, 100, Integer.MAX_VALUE, 31);
+        runRejectTest(table, 0, 5);
+        runRejectLimitTest(-2);
+    }
+
+    /**
+     * Runs a test case whose table limit must be rejected with IllegalArgumentException.
+     *
+     * @param maxSamples The largest sample count to cache.
+     */
+    private static void runRejectLimitTest(int maxSamples) {
+        boolean rejected;
+        try {
+            new MinimumTestsTable(maxSamples);
+            rejected = false;
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        System.out.printf("Max samples: %d\n", maxSamples);
+        System.out.printf("Expected: rejected, Got: %s\n", rejected ? "rejected" : "accepted");
+        System.out.println(rejected ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+
+    /**
+     * Runs a test case that must be rejected with IllegalArgumentException.
+     *
+     * @param table The table to query.
+     * @param samples The number of samples.
+     * @param levels The number of temperature levels.
+     */
+    private static void runRejectTest(MinimumTestsTable table, int samples, int levels) {
+        boolean rejected;
+        try {
+            table.findMinimumTests(samples, levels);
+            rejected = false;
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        System.out.printf("Samples: %d, Levels: %d\n", samples, levels);
+        System.out.printf("Expected: rejected, Got: %s\n", rejected ? "rejected" : "accepted");
+        System.out.println(rejected ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+
+    /**
+     * Runs a test case to check if the table lookup works correctly.
+     *
+     * @param table The table to query.
+     * @param samples The number of samples.
+     * @param levels The number of temperature levels.
+     * @param expected The expected number of tests.
+     */
+    private static void runTest(MinimumTestsTable table, int samples, int levels, int expected) {
+        int result = table.findMinimumTests(samples, levels);
+        System.out.printf("Samples: %d, Levels: %d\n", samples, levels);
+        System.out.printf("Expected: %d, Got: %d\n", expected, result);
+        System.out.println(result == expected ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+}
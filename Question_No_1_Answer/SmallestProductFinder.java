@@ -1,8 +1,14 @@
 package Question_No_1_Answer;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class SmallestProductFinder {
+    // Below this many elements in arr1 a parallel count is not worth the task overhead
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
 
     /**
      * Finds the kth smallest product of two sorted arrays.
@@ -13,18 +19,92 @@ public class SmallestProductFinder {
      * @return The kth smallest product.
      */
     public static long findKthSmallestProduct(int[] arr1, int[] arr2, long k) {
-        long left = Math.min(
-            Math.min((long) arr1[0] * arr2[0], (long) arr1[0] * arr2[arr2.length - 1]),
-            Math.min((long) arr1[arr1.length - 1] * arr2[0], (long) arr1[arr1.length - 1] * arr2[arr2.length - 1])
-        );
-        long right = Math.max(
-            Math.max((long) arr1[0] * arr2[0], (long) arr1[0] * arr2[arr2.length - 1]),
-            Math.max((long) arr1[arr1.length - 1] * arr2[0], (long) arr1[arr1.length - 1] * arr2[arr2.length - 1])
-        );
+        return searchKthSmallestProduct(SortedIntSource.of(arr1), SortedIntSource.of(arr2), k, null);
+    }
+
+    /**
+     * Finds the kth smallest product of two sorted int buffers, such as views of
+     * memory-mapped files, without copying them onto the heap.
+     *
+     * @param arr1 The first sorted buffer, read from its position to its limit.
+     * @param arr2 The second sorted buffer, read from its position to its limit.
+     * @param k The position of the smallest product to find.
+     * @return The kth smallest product.
+     */
+    public static long findKthSmallestProduct(IntBuffer arr1, IntBuffer arr2, long k) {
+        return searchKthSmallestProduct(SortedIntSource.of(arr1), SortedIntSource.of(arr2), k, null);
+    }
+
+    /**
+     * Finds the kth smallest product of two sorted sources.
+     *
+     * @param arr1 The first sorted source.
+     * @param arr2 The second sorted source.
+     * @param k The position of the smallest product to find.
+     * @return The kth smallest product.
+     */
+    public static long findKthSmallestProduct(SortedIntSource arr1, SortedIntSource arr2, long k) {
+        return searchKthSmallestProduct(arr1, arr2, k, null);
+    }
+
+    /**
+     * Finds the kth smallest product of two sorted arrays, counting each step of the
+     * search in parallel on the common fork-join pool.
+     *
+     * @param arr1 The first sorted array.
+     * @param arr2 The second sorted array.
+     * @param k The position of the smallest product to find.
+     * @return The kth smallest product.
+     */
+    public static long findKthSmallestProductParallel(int[] arr1, int[] arr2, long k) {
+        return findKthSmallestProductParallel(arr1, arr2, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds the kth smallest product of two sorted arrays, counting each step of the
+     * search in parallel on the given pool. Small inputs are counted sequentially.
+     *
+     * @param arr1 The first sorted array.
+     * @param arr2 The second sorted array.
+     * @param k The position of the smallest product to find.
+     * @param pool The pool that runs the counting tasks.
+     * @return The kth smallest product.
+     */
+    public static long findKthSmallestProductParallel(int[] arr1, int[] arr2, long k, ForkJoinPool pool) {
+        return searchKthSmallestProduct(SortedIntSource.of(arr1), SortedIntSource.of(arr2), k, pool);
+    }
+
+    /**
+     * Finds the kth smallest product of two sorted sources, counting each step of the
+     * search in parallel on the given pool. Small inputs are counted sequentially.
+     *
+     * @param arr1 The first sorted source.
+     * @param arr2 The second sorted source.
+     * @param k The position of the smallest product to find.
+     * @param pool The pool that runs the counting tasks.
+     * @return The kth smallest product.
+     */
+    public static long findKthSmallestProductParallel(SortedIntSource arr1, SortedIntSource arr2, long k, ForkJoinPool pool) {
+        return searchKthSmallestProduct(arr1, arr2, k, pool);
+    }
+
+    /**
+     * Binary searches the product range for the kth smallest product.
+     *
+     * @param arr1 The first sorted array.
+     * @param arr2 The second sorted array.
+     * @param k The position of the smallest product to find.
+     * @param pool The pool used for counting, or null to count sequentially.
+     * @return The kth smallest product.
+     */
+    private static long searchKthSmallestProduct(SortedIntSource arr1, SortedIntSource arr2, long k, ForkJoinPool pool) {
+        long left = lowestProduct(arr1, arr2);
+        long right = highestProduct(arr1, arr2);
         
         while (left < right) {
             long mid = left + (right - left) / 2;
-            if (countProducts(arr1, arr2, mid) < k) {
+            long count = pool == null ? countProducts(arr1, arr2, mid) : countProductsParallel(arr1, arr2, mid, pool);
+            if (count < k) {
                 left = mid + 1;
             } else {
                 right = mid;
@@ -34,41 +114,312 @@ public class SmallestProductFinder {
         return left;
     }
     
+    /**
+     * Finds the kth smallest product for every k in a batch of queries.
+     * All queries share one binary search over the product range: each counted
+     * midpoint splits the pending queries into those answered below it and those
+     * answered above it, so clustered k values cost about as much as a single query.
+     *
+     * @param arr1 The first sorted array.
+     * @param arr2 The second sorted array.
+     * @param ks The positions of the smallest products to find.
+     * @return The kth smallest product for each entry of ks, in the same order.
+     */
+    public static long[] findKthSmallestProducts(int[] arr1, int[] arr2, long[] ks) {
+        return findKthSmallestProducts(SortedIntSource.of(arr1), SortedIntSource.of(arr2), ks);
+    }
+
+    /**
+     * Finds the kth smallest product of two sorted sources for every k in a batch of queries.
+     *
+     * @param arr1 The first sorted source.
+     * @param arr2 The second sorted source.
+     * @param ks The positions of the smallest products to find.
+     * @return The kth smallest product for each entry of ks, in the same order.
+     */
+    public static long[] findKthSmallestProducts(SortedIntSource arr1, SortedIntSource arr2, long[] ks) {
+        long[] answers = new long[ks.length];
+        if (ks.length == 0) {
+            return answers;
+        }
+
+        long[] sortedKs = ks.clone();
+        Arrays.sort(sortedKs);
+        long[] sortedAnswers = new long[sortedKs.length];
+        solveBatch(arr1, arr2, sortedKs, sortedAnswers, 0, sortedKs.length,
+                lowestProduct(arr1, arr2), highestProduct(arr1, arr2));
+
+        for (int i = 0; i < ks.length; i++) {
+            answers[i] = sortedAnswers[Arrays.binarySearch(sortedKs, ks[i])];
+        }
+        return answers;
+    }
+
+    /**
+     * Answers the sorted queries in [from, to) whose products are known to lie in [low, high].
+     *
+     * @param arr1 The first sorted array.
+     * @param arr2 The second sorted array.
+     * @param sortedKs The query positions in ascending order.
+     * @param sortedAnswers Receives the answer for each sorted query.
+     * @param from The first query index (inclusive).
+     * @param to The last query index (exclusive).
+     * @param low The smallest possible answer for these queries.
+     * @param high The largest possible answer for these queries.
+     */
+    private static void solveBatch(SortedIntSource arr1, SortedIntSource arr2, long[] sortedKs, long[] sortedAnswers,
+                                   int from, int to, long low, long high) {
+        if (from >= to) {
+            return;
+        }
+        if (low == high) {
+            Arrays.fill(sortedAnswers, from, to, low);
+            return;
+        }
+
+        long mid = low + (high - low) / 2;
+        long count = countProducts(arr1, arr2, mid);
+
+        // Queries with k <= count have their answer at or below mid.
+        int split = from;
+        while (split < to && sortedKs[split] <= count) {
+            split++;
+        }
+
+        solveBatch(arr1, arr2, sortedKs, sortedAnswers, from, split, low, mid);
+        solveBatch(arr1, arr2, sortedKs, sortedAnswers, split, to, mid + 1, high);
+    }
+
+    /**
+     * Finds the smallest product that can be formed from the two sorted arrays.
+     *
+     * @param arr1 The first sorted array.
+     * @param arr2 The second sorted array.
+     * @return The smallest product.
+     */
+    private static long lowestProduct(SortedIntSource arr1, SortedIntSource arr2) {
+        return Math.min(
+            Math.min((long) arr1.get(0) * arr2.get(0), (long) arr1.get(0) * arr2.get(arr2.size() - 1)),
+            Math.min((long) arr1.get(arr1.size() - 1) * arr2.get(0), (long) arr1.get(arr1.size() - 1) * arr2.get(arr2.size() - 1))
+        );
+    }
+
+    /**
+     * Finds the largest product that can be formed from the two sorted arrays.
+     *
+     * @param arr1 The first sorted array.
+     * @param arr2 The second sorted array.
+     * @return The largest product.
+     */
+    private static long highestProduct(SortedIntSource arr1, SortedIntSource arr2) {
+        return Math.max(
+            Math.max((long) arr1.get(0) * arr2.get(0), (long) arr1.get(0) * arr2.get(arr2.size() - 1)),
+            Math.max((long) arr1.get(arr1.size() - 1) * arr2.get(0), (long) arr1.get(arr1.size() - 1) * arr2.get(arr2.size() - 1))
+        );
+    }
+
     /**
      * Counts how many products are less than or equal to a given value.
+     * Both arrays are split into negative, zero and positive segments; within each
+     * pair of segments the products are monotone, so every pair is counted with a
+     * two-pointer sweep in O(n + m) using only long arithmetic.
      *
      * @param arr1 The first sorted array.
      * @param arr2 The second sorted array.
      * @param target The value to compare against.
      * @return The count of products <= target.
      */
-    private static long countProducts(int[] arr1, int[] arr2, long target) {
+    private static long countProducts(SortedIntSource arr1, SortedIntSource arr2, long target) {
+        return countProducts(arr1, 0, arr1.size(), arr2, target);
+    }
+
+    /**
+     * Counts how many products with a factor from arr1[from..to) are less than or
+     * equal to a given value.
+     *
+     * @param arr1 The first sorted array.
+     * @param from The first index of arr1 to count (inclusive).
+     * @param to The last index of arr1 to count (exclusive).
+     * @param arr2 The second sorted array.
+     * @param target The value to compare against.
+     * @return The count of products <= target.
+     */
+    private static long countProducts(SortedIntSource arr1, int from, int to, SortedIntSource arr2, long target) {
+        int m = arr2.size();
+        int zeroStart1 = findLowerBound(arr1, from, to, 0), posStart1 = findUpperBound(arr1, from, to, 0);
+        int zeroStart2 = findLowerBound(arr2, 0, m, 0), posStart2 = findUpperBound(arr2, 0, m, 0);
+        long neg1 = zeroStart1 - from, pos1 = to - posStart1;
+        long neg2 = zeroStart2, pos2 = m - posStart2;
+
         long count = 0;
-        int n = arr2.length;
-        for (int num : arr1) {
-            if (num == 0) {
-                if (target >= 0) count += n;
-            } else if (num > 0) {
-                count += findUpperBound(arr2, (double) target / num);
+
+        // Every pair with a zero factor has product 0.
+        if (target >= 0) {
+            count += (long) (to - from) * m - (neg1 + pos1) * (neg2 + pos2);
+        }
+
+        // Same-sign pairs give positive products |a| * |b|.
+        count += countAbsProductsAtMost(arr1, posStart1, to, false, arr2, posStart2, m, false, target);
+        count += countAbsProductsAtMost(arr1, from, zeroStart1, true, arr2, 0, zeroStart2, true, target);
+
+        // Opposite-sign pairs give -|a| * |b| <= target, i.e. |a| * |b| >= -target.
+        count += pos1 * neg2 - countAbsProductsAtMost(arr1, posStart1, to, false, arr2, 0, zeroStart2, true, -target - 1);
+        count += neg1 * pos2 - countAbsProductsAtMost(arr1, from, zeroStart1, true, arr2, posStart2, m, false, -target - 1);
+
+        return count;
+    }
+
+    /**
+     * Counts how many products are less than or equal to a given value by splitting
+     * arr1 into chunks that are counted as fork-join tasks and summed.
+     *
+     * @param arr1 The first sorted array.
+     * @param arr2 The second sorted array.
+     * @param target The value to compare against.
+     * @param pool The pool that runs the counting tasks.
+     * @return The count of products <= target.
+     */
+    private static long countProductsParallel(SortedIntSource arr1, SortedIntSource arr2, long target, ForkJoinPool pool) {
+        if (arr1.size() < PARALLEL_THRESHOLD) {
+            return countProducts(arr1, arr2, target);
+        }
+        // Each chunk also sweeps arr2, so keep chunks large: a few per worker.
+        int chunkSize = Math.max(PARALLEL_THRESHOLD / 4, arr1.size() / (pool.getParallelism() * 4));
+        return pool.invoke(new CountTask(arr1, 0, arr1.size(), arr2, target, chunkSize));
+    }
+
+    /**
+     * Fork-join task that counts products <= target for a range of arr1.
+     */
+    private static final class CountTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final SortedIntSource arr1;
+        private final int from, to;
+        private final SortedIntSource arr2;
+        private final long target;
+        private final int chunkSize;
+
+        CountTask(SortedIntSource arr1, int from, int to, SortedIntSource arr2, long target, int chunkSize) {
+            this.arr1 = arr1;
+            this.from = from;
+            this.to = to;
+            this.arr2 = arr2;
+            this.target = target;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= chunkSize) {
+                return countProducts(arr1, from, to, arr2, target);
+            }
+            int mid = from + (to - from) / 2;
+            CountTask leftTask = new CountTask(arr1, from, mid, arr2, target, chunkSize);
+            leftTask.fork();
+            long rightCount = new CountTask(arr1, mid, to, arr2, target, chunkSize).compute();
+            return leftTask.join() + rightCount;
+        }
+    }
+
+    /**
+     * Counts pairs from two same-sign segments whose absolute product is at most a limit.
+     * Segments are walked in ascending absolute value (negative segments are read
+     * back to front), so the matching prefix of the second segment only shrinks.
+     *
+     * @param a The first array.
+     * @param aFrom Start of the first segment (inclusive).
+     * @param aTo End of the first segment (exclusive).
+     * @param aNegative Whether the first segment holds negative values.
+     * @param b The second array.
+     * @param bFrom Start of the second segment (inclusive).
+     * @param bTo End of the second segment (exclusive).
+     * @param bNegative Whether the second segment holds negative values.
+     * @param limit The largest allowed absolute product.
+     * @return The number of pairs with |a| * |b| <= limit.
+     */
+    private static long countAbsProductsAtMost(SortedIntSource a, int aFrom, int aTo, boolean aNegative,
+                                               SortedIntSource b, int bFrom, int bTo, boolean bNegative, long limit) {
+        int lengthA = aTo - aFrom, lengthB = bTo - bFrom;
+        if (lengthA == 0 || lengthB == 0) {
+            return 0;
+        }
+
+        // Binary search the starting prefix so that a chunk of arr1 only sweeps the
+        // part of the second segment its own elements move the pointer across.
+        long firstA = aNegative ? -(long) a.get(aTo - 1) : a.get(aFrom);
+        int low = 0, high = lengthB;
+        while (low < high) {
+            int mid = low + (high - low + 1) / 2;
+            if (firstA * absAt(b, bFrom, bTo, bNegative, mid - 1) <= limit) {
+                low = mid;
             } else {
-                count += n - findUpperBound(arr2, (double) target / num);
+                high = mid - 1;
+            }
+        }
+
+        long count = 0;
+        int j = low;
+        for (int i = 0; i < lengthA && j > 0; i++) {
+            long absA = absAt(a, aFrom, aTo, aNegative, i);
+            while (j > 0 && absA * absAt(b, bFrom, bTo, bNegative, j - 1) > limit) {
+                j--;
             }
+            count += j;
         }
         return count;
     }
 
     /**
-     * Finds the index where an element would be inserted in a sorted array.
+     * Reads the element of a same-sign segment with the given rank in ascending absolute value.
+     *
+     * @param arr The array holding the segment.
+     * @param from Start of the segment (inclusive).
+     * @param to End of the segment (exclusive).
+     * @param negative Whether the segment holds negative values.
+     * @param rank The rank of the element, 0 being the smallest absolute value.
+     * @return The absolute value of that element.
+     */
+    private static long absAt(SortedIntSource arr, int from, int to, boolean negative, int rank) {
+        return negative ? -(long) arr.get(to - 1 - rank) : arr.get(from + rank);
+    }
+
+    /**
+     * Finds the first index in arr[from..to) whose element is not less than the target.
      *
      * @param arr The sorted array.
+     * @param from The first index to search (inclusive).
+     * @param to The last index to search (exclusive).
+     * @param target The target value.
+     * @return The lower bound index.
+     */
+    private static int findLowerBound(SortedIntSource arr, int from, int to, int target) {
+        int left = from, right = to;
+        while (left < right) {
+            int mid = left + (right - left) / 2;
+            if (arr.get(mid) < target) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Finds the index where an element would be inserted in arr[from..to).
+     *
+     * @param arr The sorted array.
+     * @param from The first index to search (inclusive).
+     * @param to The last index to search (exclusive).
      * @param target The target value.
      * @return The upper bound index.
      */
-    private static int findUpperBound(int[] arr, double target) {
-        int left = 0, right = arr.length;
+    private static int findUpperBound(SortedIntSource arr, int from, int to, int target) {
+        int left = from, right = to;
         while (left < right) {
             int mid = left + (right - left) / 2;
-            if (arr[mid] <= target) {
+            if (arr.get(mid) <= target) {
                 left = mid + 1;
             } else {
                 right = mid;
@@ -80,6 +431,11 @@ public class SmallestProductFinder {
     public static void main(String[] args) {
         runTest(new int[]{2, 5}, new int[]{3, 4}, 2, 8);
         runTest(new int[]{-4, -2, 0, 3}, new int[]{2, 4}, 6, 0);
+        runTest(new int[]{-4, -2, 0, 3}, new int[]{2, 4}, 1, -16);
+        runTest(new int[]{-2, -1, 0, 1, 2}, new int[]{-3, -1, 2, 4, 5}, 3, -6);
+        runBatchTest(new int[]{2, 5}, new int[]{3, 4}, new long[]{4, 1, 3}, new long[]{20, 6, 15});
+        runBatchTest(new int[]{-4, -2, 0, 3}, new int[]{2, 4}, new long[]{8, 1, 6, 3}, new long[]{12, -16, 0, -8});
+        runBufferTest(new int[]{-4, -2, 0, 3}, new int[]{2, 4}, 3, -8);
     }
 
     /**
@@ -97,4 +453,38 @@ public class SmallestProductFinder {
         System.out.println(result == expected ? "Test PASSED" : "Test FAILED");
         System.out.println();
     }
+
+    /**
+     * Runs a batch test case for the function.
+     *
+     * @param arr1 The first sorted array.
+     * @param arr2 The second sorted array.
+     * @param ks The target indices.
+     * @param expected The expected results.
+     */
+    private static void runBatchTest(int[] arr1, int[] arr2, long[] ks, long[] expected) {
+        long[] result = findKthSmallestProducts(arr1, arr2, ks);
+        System.out.printf("Arrays: %s, %s | ks=%s\n", Arrays.toString(arr1), Arrays.toString(arr2), Arrays.toString(ks));
+        System.out.printf("Expected: %s, Got: %s\n", Arrays.toString(expected), Arrays.toString(result));
+        System.out.println(Arrays.equals(result, expected) ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+
+    /**
+     * Runs a test case for the function over direct (off-heap) int buffers.
+     *
+     * @param arr1 The first sorted array.
+     * @param arr2 The second sorted array.
+     * @param k The target index.
+     * @param expected The expected result.
+     */
+    private static void runBufferTest(int[] arr1, int[] arr2, long k, long expected) {
+        IntBuffer buffer1 = ByteBuffer.allocateDirect(arr1.length * Integer.BYTES).asIntBuffer().put(arr1).flip();
+        IntBuffer buffer2 = ByteBuffer.allocateDirect(arr2.length * Integer.BYTES).asIntBuffer().put(arr2).flip();
+        long result = findKthSmallestProduct(buffer1, buffer2, k);
+        System.out.printf("Buffers: %s, %s | k=%d\n", Arrays.toString(arr1), Arrays.toString(arr2), k);
+        System.out.printf("Expected: %d, Got: %d\n", expected, result);
+        System.out.println(result == expected ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
 }
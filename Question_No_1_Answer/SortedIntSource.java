@@ -0,0 +1,151 @@
+package Question_No_1_Answer;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only, ascending sequence of ints with random access.
+ * Lets the product search read its inputs from heap arrays, int buffers or
+ * memory-mapped files through the same code path.
+ */
+public interface SortedIntSource {
+
+    /**
+     * @return The number of values in the source.
+     */
+    int size();
+
+    /**
+     * @param index The position to read, from 0 to size() - 1.
+     * @return The value at that position.
+     */
+    int get(int index);
+
+    /**
+     * Wraps a sorted heap array without copying it.
+     *
+     * @param values The sorted array.
+     * @return A source backed by the array.
+     */
+    static SortedIntSource of(int[] values) {
+        return new ArrayIntSource(values);
+    }
+
+    /**
+     * Wraps the remaining values of a sorted int buffer without copying them.
+     *
+     * @param buffer The sorted buffer, read from its position to its limit.
+     * @return A source backed by the buffer.
+     */
+    static SortedIntSource of(IntBuffer buffer) {
+        return new BufferIntSource(buffer.slice());
+    }
+
+    /**
+     * Memory-maps a file of sorted 4-byte ints so the values are read straight from
+     * the page cache instead of being loaded onto the heap.
+     *
+     * @param file The file holding the values, back to back.
+     * @param order The byte order the values were written in.
+     * @return A source backed by the mapped file.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    static SortedIntSource map(Path file, ByteOrder order) throws IOException {
+        return MappedIntSource.map(file, order);
+    }
+}
+
+/**
+ * Source backed by a heap array.
+ */
+final class ArrayIntSource implements SortedIntSource {
+    private final int[] values;
+
+    ArrayIntSource(int[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public int get(int index) {
+        return values[index];
+    }
+}
+
+/**
+ * Source backed by a single int buffer, heap or direct.
+ */
+final class BufferIntSource implements SortedIntSource {
+    private final IntBuffer buffer;
+
+    BufferIntSource(IntBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int size() {
+        return buffer.limit();
+    }
+
+    @Override
+    public int get(int index) {
+        return buffer.get(index);
+    }
+}
+
+/**
+ * Source backed by a memory-mapped file. A single mapping is limited to 2 GB,
+ * so larger files are mapped as a series of fixed-size regions.
+ */
+final class MappedIntSource implements SortedIntSource {
+    private static final int REGION_SHIFT = 28; // 2^28 ints (1 GB) per mapped region
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+
+    private final IntBuffer[] regions;
+    private final int size;
+
+    private MappedIntSource(IntBuffer[] regions, int size) {
+        this.regions = regions;
+        this.size = size;
+    }
+
+    static MappedIntSource map(Path file, ByteOrder order) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long count = channel.size() / Integer.BYTES;
+            if (count > Integer.MAX_VALUE) {
+                throw new IOException("Too many values to index with an int: " + count);
+            }
+
+            int regionCount = (int) ((count + REGION_MASK) >>> REGION_SHIFT);
+            IntBuffer[] regions = new IntBuffer[regionCount];
+            for (int r = 0; r < regionCount; r++) {
+                long first = (long) r << REGION_SHIFT;
+                long length = Math.min(1L << REGION_SHIFT, count - first);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                        first * Integer.BYTES, length * Integer.BYTES);
+                regions[r] = mapped.order(order).asIntBuffer();
+            }
+            // Mappings stay valid after the channel is closed.
+            return new MappedIntSource(regions, (int) count);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int get(int index) {
+        return regions[index >>> REGION_SHIFT].get(index & REGION_MASK);
+    }
+}
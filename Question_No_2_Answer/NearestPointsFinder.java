@@ -3,6 +3,9 @@ package Question_No_2_Answer;
 import java.util.Arrays;
 
 public class NearestPointsFinder {
+    private static final int INDEX_BITS = 31;                    // Low bits of a packed sort key hold the point index
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
     /**
      * Finds the closest pair of points based on Manhattan distance.
      *
@@ -28,10 +31,419 @@ public class NearestPointsFinder {
         return closestPair;
     }
 
+    /**
+     * Finds the closest pair of points based on Manhattan distance in O(n log n).
+     * Coordinates are rotated to u = x + y, v = x - y, where Manhattan distance becomes
+     * max(|du|, |dv|). A sweep over ascending u keeps the points within the current best
+     * distance in a set of v-ranks, so each point only meets a few candidates.
+     * Ties are broken exactly like getClosestPair: the lexicographically smallest (i, j).
+     *
+     * @param xVals Array of x-coordinates.
+     * @param yVals Array of y-coordinates.
+     * @return Indices of the closest pair.
+     */
+    public static int[] getClosestPairSweep(int[] xVals, int[] yVals) {
+        int n = xVals.length;
+        if (n < 2) {
+            return new int[]{0, 1};
+        }
+        return lexicographicPairAt(xVals, yVals, minimumDistanceSweep(xVals, yVals));
+    }
+
+    /**
+     * Finds the smallest Manhattan distance between any two points with a sweep line.
+     *
+     * @param xVals Array of x-coordinates.
+     * @param yVals Array of y-coordinates (at least two points).
+     * @return The smallest distance.
+     */
+    private static long minimumDistanceSweep(int[] xVals, int[] yVals) {
+        int n = xVals.length;
+        long[] u = new long[n];
+        long[] v = new long[n];
+        for (int i = 0; i < n; i++) {
+            u[i] = (long) xVals[i] + yVals[i];
+            v[i] = (long) xVals[i] - yVals[i];
+        }
+
+        int[] byU = sortedIndices(u);
+
+        // Rank every point by (v, index) so the active set can hold plain int ranks.
+        int[] byV = sortedIndices(v);
+        long[] sortedV = new long[n];
+        int[] rankOf = new int[n];
+        for (int r = 0; r < n; r++) {
+            sortedV[r] = v[byV[r]];
+            rankOf[byV[r]] = r;
+        }
+
+        long best = chebyshev(u, v, byU[0], byU[1]);
+        ActiveRanks active = new ActiveRanks(n);
+        int oldest = 0;
+        for (int k = 0; k < n && best > 0; k++) {
+            int current = byU[k];
+
+            // Drop points that are already too far behind in u.
+            while (u[current] - u[byU[oldest]] > best) {
+                active.remove(rankOf[byU[oldest]]);
+                oldest++;
+            }
+
+            int fromRank = lowerBound(sortedV, v[current] - best);
+            int toRank = lowerBound(sortedV, v[current] + best + 1);
+            for (int rank = active.nextAtOrAfter(fromRank); rank < toRank; rank = active.nextAtOrAfter(rank + 1)) {
+                best = Math.min(best, chebyshev(u, v, current, byV[rank]));
+            }
+            active.add(rankOf[current]);
+        }
+        return best;
+    }
+
+    /**
+     * Finds the lexicographically smallest pair (i, j), i < j, at exactly the given
+     * distance, which must be the minimum distance between any two points.
+     * Rotated coordinates are bucketed into cells of that size; since no two points
+     * are closer than it, every cell holds at most one point and each point only
+     * has to look at its neighbouring cells.
+     *
+     * @param xVals Array of x-coordinates.
+     * @param yVals Array of y-coordinates.
+     * @param distance The minimum distance between any two points.
+     * @return Indices of the closest pair.
+     */
+    static int[] lexicographicPairAt(int[] xVals, int[] yVals, long distance) {
+        if (distance == 0) {
+            return firstDuplicatePair(xVals, yVals, false);
+        }
+        long[] cellU = cells(xVals, yVals, 1, distance);
+        long[] cellV = cells(xVals, yVals, -1, distance);
+        int[] byCell = cellOrder(cellU, cellV, false);
+        return smallestPairAt(xVals, yVals, distance, byCell, cellU, cellV, 0, byCell.length);
+    }
+
+    /**
+     * Buckets one rotated coordinate of every point into cells of the given size.
+     *
+     * @param xVals Array of x-coordinates.
+     * @param yVals Array of y-coordinates.
+     * @param sign 1 for u = x + y, -1 for v = x - y.
+     * @param distance The cell size.
+     * @return The cell coordinate of every point.
+     */
+    static long[] cells(int[] xVals, int[] yVals, int sign, long distance) {
+        long[] cell = new long[xVals.length];
+        for (int i = 0; i < cell.length; i++) {
+            cell[i] = Math.floorDiv((long) xVals[i] + (long) sign * yVals[i], distance);
+        }
+        return cell;
+    }
+
+    /**
+     * Sorts point indices by cell, row by row along u and then along v.
+     *
+     * @param cellU Cell coordinate along u for every point.
+     * @param cellV Cell coordinate along v for every point.
+     * @param parallel Whether to sort with Arrays.parallelSort.
+     * @return The indices in cell order.
+     */
+    static int[] cellOrder(long[] cellU, long[] cellV, boolean parallel) {
+        int[] byCell = sortedIndices(cellU, parallel);
+        sortRuns(byCell, cellU, cellV, parallel);
+        return byCell;
+    }
+
+    /**
+     * Finds the lexicographically smallest pair at exactly the given distance among the
+     * pairs whose earlier point in cell order lies in byCell[from..to). Visiting the cell
+     * to the right and the three cells in the next row covers every neighbouring pair
+     * exactly once, so disjoint ranges can be searched independently.
+     *
+     * @param xVals Array of x-coordinates.
+     * @param yVals Array of y-coordinates.
+     * @param distance The minimum distance between any two points, used as the cell size.
+     * @param byCell Point indices in cell order.
+     * @param cellU Cell coordinate along u for every point.
+     * @param cellV Cell coordinate along v for every point.
+     * @param from First position in cell order to visit.
+     * @param to Position in cell order to stop before.
+     * @return The smallest pair found, or null if there is none.
+     */
+    static int[] smallestPairAt(int[] xVals, int[] yVals, long distance, int[] byCell, long[] cellU, long[] cellV, int from, int to) {
+        int n = byCell.length;
+        int[] best = null;
+        for (int position = from; position < to; position++) {
+            int p = byCell[position];
+            for (long du = 0; du <= 1; du++) {
+                long firstV = du == 0 ? cellV[p] + 1 : cellV[p] - 1;
+                for (int k = firstCellAtOrAfter(byCell, cellU, cellV, cellU[p] + du, firstV);
+                     k < n && cellU[byCell[k]] == cellU[p] + du && cellV[byCell[k]] <= cellV[p] + 1; k++) {
+                    int q = byCell[k];
+                    if (Math.abs((long) xVals[p] - xVals[q]) + Math.abs((long) yVals[p] - yVals[q]) == distance) {
+                        best = smallerPair(best, new int[]{Math.min(p, q), Math.max(p, q)});
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Picks the lexicographically smaller of two pairs.
+     *
+     * @param a A pair, or null.
+     * @param b A pair, or null.
+     * @return The smaller pair, or the other one if either is null.
+     */
+    static int[] smallerPair(int[] a, int[] b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a[0] < b[0] || (a[0] == b[0] && a[1] <= b[1]) ? a : b;
+    }
+
+    /**
+     * Finds the lexicographically smallest pair of identical points.
+     *
+     * @param xVals Array of x-coordinates.
+     * @param yVals Array of y-coordinates (with at least one repeated point).
+     * @param parallel Whether to sort with Arrays.parallelSort.
+     * @return The smallest index of a repeated point and the next index sharing it.
+     */
+    static int[] firstDuplicatePair(int[] xVals, int[] yVals, boolean parallel) {
+        int n = xVals.length;
+        long[] x = new long[n];
+        long[] y = new long[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = xVals[i];
+            y[i] = yVals[i];
+        }
+        int[] order = sortedIndices(x, parallel);
+        sortRuns(order, x, y, parallel);
+
+        // Within a group of equal points the first two entries are the two smallest indices.
+        int[] best = null;
+        for (int k = 1; k < n; k++) {
+            int a = order[k - 1], b = order[k];
+            boolean groupStart = k == 1 || xVals[order[k - 2]] != xVals[a] || yVals[order[k - 2]] != yVals[a];
+            if (groupStart && xVals[a] == xVals[b] && yVals[a] == yVals[b] && (best == null || a < best[0])) {
+                best = new int[]{a, b};
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the first position in cell order at or after a given cell.
+     *
+     * @param byCell Point indices sorted by cell.
+     * @param cellU Cell coordinate along u for every point.
+     * @param cellV Cell coordinate along v for every point.
+     * @param targetU Cell coordinate along u to look for.
+     * @param targetV Cell coordinate along v to look for.
+     * @return The first position whose cell is not before the target cell.
+     */
+    private static int firstCellAtOrAfter(int[] byCell, long[] cellU, long[] cellV, long targetU, long targetV) {
+        int left = 0, right = byCell.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            int p = byCell[mid];
+            if (cellU[p] < targetU || (cellU[p] == targetU && cellV[p] < targetV)) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Sorts point indices by a key, breaking ties by index. Each key is packed above its
+     * index into a single long and the longs are sorted as primitives, so keys must lie
+     * in [-2^32, 2^32), which covers x + y and x - y of int coordinates.
+     *
+     * @param key The key of every point.
+     * @return The indices in ascending key order.
+     */
+    static int[] sortedIndices(long[] key) {
+        return sortedIndices(key, false);
+    }
+
+    /**
+     * Sorts point indices by a key, breaking ties by index, as sortedIndices(key) does.
+     *
+     * @param key The key of every point.
+     * @param parallel Whether to sort with Arrays.parallelSort.
+     * @return The indices in ascending key order.
+     */
+    static int[] sortedIndices(long[] key, boolean parallel) {
+        int n = key.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = pack(key[i], i);
+        }
+        if (parallel) {
+            Arrays.parallelSort(packed);
+        } else {
+            Arrays.sort(packed);
+        }
+        int[] order = new int[n];
+        for (int r = 0; r < n; r++) {
+            order[r] = unpackIndex(packed[r]);
+        }
+        return order;
+    }
+
+    /**
+     * Reorders every run of equal primary keys in an index order by a secondary key,
+     * breaking ties by index. Both keys follow the bounds of sortedIndices.
+     *
+     * @param order Indices sorted by the primary key; reordered in place.
+     * @param primary The primary key of every point.
+     * @param secondary The secondary key of every point.
+     * @param parallel Whether to sort with Arrays.parallelSort.
+     */
+    static void sortRuns(int[] order, long[] primary, long[] secondary, boolean parallel) {
+        long[] packed = null;
+        for (int start = 0, end; start < order.length; start = end) {
+            end = start + 1;
+            while (end < order.length && primary[order[end]] == primary[order[start]]) {
+                end++;
+            }
+            if (end - start < 2) {
+                continue;
+            }
+            if (packed == null) {
+                packed = new long[order.length];
+            }
+            for (int k = start; k < end; k++) {
+                packed[k] = pack(secondary[order[k]], order[k]);
+            }
+            if (parallel) {
+                Arrays.parallelSort(packed, start, end);
+            } else {
+                Arrays.sort(packed, start, end);
+            }
+            for (int k = start; k < end; k++) {
+                order[k] = unpackIndex(packed[k]);
+            }
+        }
+    }
+
+    /**
+     * Packs a key and a point index into one long whose signed order is (key, index).
+     *
+     * @param key A key in [-2^32, 2^32).
+     * @param index A point index.
+     * @return The packed sort key.
+     */
+    static long pack(long key, int index) {
+        return key << INDEX_BITS | index;
+    }
+
+    /**
+     * Extracts the point index from a packed sort key.
+     *
+     * @param packed A key built by pack.
+     * @return The point index.
+     */
+    static int unpackIndex(long packed) {
+        return (int) (packed & INDEX_MASK);
+    }
+
+    /**
+     * Finds the first index whose value is not less than the target.
+     *
+     * @param sorted The sorted values.
+     * @param target The target value.
+     * @return The lower bound index.
+     */
+    private static int lowerBound(long[] sorted, long target) {
+        int left = 0, right = sorted.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (sorted[mid] < target) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Set of v-ranks held as counts in a Fenwick tree, so adding, removing and finding
+     * the next active rank all take O(log n) without boxing.
+     */
+    private static final class ActiveRanks {
+        private final int[] tree;    // 1-based Fenwick tree; rank r lives at r + 1
+        private final int highBit;
+
+        ActiveRanks(int size) {
+            tree = new int[size + 1];
+            highBit = Integer.highestOneBit(Math.max(1, size));
+        }
+
+        void add(int rank) {
+            update(rank, 1);
+        }
+
+        void remove(int rank) {
+            update(rank, -1);
+        }
+
+        private void update(int rank, int delta) {
+            for (int i = rank + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        /**
+         * Finds the smallest active rank at or after the given one.
+         *
+         * @param rank The first rank to consider.
+         * @return The next active rank, or the set size if there is none.
+         */
+        int nextAtOrAfter(int rank) {
+            int before = 0;
+            for (int i = Math.min(rank, tree.length - 1); i > 0; i -= i & -i) {
+                before += tree[i];
+            }
+            // Walk down to the longest prefix holding no more than 'before' active ranks.
+            int position = 0;
+            for (int step = highBit; step > 0; step >>= 1) {
+                if (position + step < tree.length && tree[position + step] <= before) {
+                    position += step;
+                    before -= tree[position];
+                }
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Computes the Chebyshev distance between two rotated points, which equals
+     * their Manhattan distance in the original coordinates.
+     *
+     * @param u Rotated u = x + y coordinates.
+     * @param v Rotated v = x - y coordinates.
+     * @param a Index of the first point.
+     * @param b Index of the second point.
+     * @return The distance between the two points.
+     */
+    static long chebyshev(long[] u, long[] v, int a, int b) {
+        return Math.max(Math.abs(u[a] - u[b]), Math.abs(v[a] - v[b]));
+    }
+
     public static void main(String[] args) {
         runTest(new int[]{1, 2, 3, 2, 4}, new int[]{2, 3, 1, 2, 3}, new int[]{0, 3});
         runTest(new int[]{1, 1, 1}, new int[]{1, 1, 1}, new int[]{0, 1});
         runTest(new int[]{1, 2, 3}, new int[]{4, 5, 6}, new int[]{0, 1});
+        runSweepTest(new int[]{1, 2, 3, 2, 4}, new int[]{2, 3, 1, 2, 3}, new int[]{0, 3});
+        runSweepTest(new int[]{5, 1, 5, 1, 1}, new int[]{5, 1, 5, 1, 1}, new int[]{0, 2});
+        runSweepTest(new int[]{0, 10, 3, 13}, new int[]{0, 0, 4, 4}, new int[]{0, 2});
     }
 
     /**
@@ -48,4 +460,19 @@ public class NearestPointsFinder {
         System.out.println(Arrays.equals(result, expected) ? "Test PASSED" : "Test FAILED");
         System.out.println();
     }
+
+    /**
+     * Runs a test case for getClosestPairSweep function.
+     *
+     * @param xVals X-coordinates.
+     * @param yVals Y-coordinates.
+     * @param expected Expected result.
+     */
+    private static void runSweepTest(int[] xVals, int[] yVals, int[] expected) {
+        int[] result = getClosestPairSweep(xVals, yVals);
+        System.out.printf("X: %s, Y: %s (sweep)\n", Arrays.toString(xVals), Arrays.toString(yVals));
+        System.out.printf("Expected: %s, Got: %s\n", Arrays.toString(expected), Arrays.toString(result));
+        System.out.println(Arrays.equals(result, expected) ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
 }
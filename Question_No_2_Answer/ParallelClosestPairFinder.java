@@ -0,0 +1,257 @@
+package Question_No_2_Answer;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel divide-and-conquer closest pair search under Manhattan distance.
+ * Points are rotated to u = x + y, v = x - y (where Manhattan distance is
+ * max(|du|, |dv|)), sorted by u and split in half recursively; the halves run as
+ * fork-join tasks and are merged through the strip around the dividing line.
+ * Every task leaves its range ordered by v, so each level merges two sorted runs
+ * instead of sorting its strip again.
+ */
+public class ParallelClosestPairFinder {
+
+    /**
+     * Finds the closest pair of points based on Manhattan distance, using several threads.
+     * Returns the same pair as NearestPointsFinder.getClosestPair, including its
+     * lexicographic tie-breaking on (i, j).
+     *
+     * @param xVals Array of x-coordinates.
+     * @param yVals Array of y-coordinates.
+     * @param parallelism Number of worker threads.
+     * @param sequentialCutoff Range size at or below which a task is solved directly.
+     * @return Indices of the closest pair.
+     */
+    public static int[] getClosestPair(int[] xVals, int[] yVals, int parallelism, int sequentialCutoff) {
+        int n = xVals.length;
+        if (n < 2) {
+            return new int[]{0, 1};
+        }
+
+        int cutoff = Math.max(2, sequentialCutoff);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // Sort inside the pool too: Arrays.parallelSort forks onto the calling worker's pool,
+            // so the sorts use these threads instead of the common pool.
+            return pool.invoke(ForkJoinTask.adapt(() -> closestPair(xVals, yVals, cutoff, parallelism > 1)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs the search from a worker of the pool that getClosestPair created.
+     *
+     * @param xVals Array of x-coordinates.
+     * @param yVals Array of y-coordinates (at least two points).
+     * @param cutoff Range size at or below which a task is solved directly.
+     * @param parallelSorts Whether to sort with Arrays.parallelSort; pointless on a single worker.
+     * @return Indices of the closest pair.
+     */
+    private static int[] closestPair(int[] xVals, int[] yVals, int cutoff, boolean parallelSorts) {
+        int n = xVals.length;
+        long[] u = new long[n];
+        long[] v = new long[n];
+        for (int i = 0; i < n; i++) {
+            u[i] = (long) xVals[i] + yVals[i];
+            v[i] = (long) xVals[i] - yVals[i];
+        }
+        int[] byU = NearestPointsFinder.sortedIndices(u, parallelSorts);
+
+        long distance = new ClosestTask(u, v, byU, new int[n], new int[n], 0, n, cutoff).invoke();
+        if (distance == 0) {
+            return NearestPointsFinder.firstDuplicatePair(xVals, yVals, parallelSorts);
+        }
+        long[] cellU = NearestPointsFinder.cells(xVals, yVals, 1, distance);
+        long[] cellV = NearestPointsFinder.cells(xVals, yVals, -1, distance);
+        int[] byCell = NearestPointsFinder.cellOrder(cellU, cellV, parallelSorts);
+        return new TieBreakTask(xVals, yVals, distance, byCell, cellU, cellV, 0, n, cutoff).invoke();
+    }
+
+    /**
+     * Fork-join task that finds the smallest distance among the points byU[from..to)
+     * and leaves the same points in byV[from..to), ordered by (v, index).
+     */
+    private static final class ClosestTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] u, v;
+        private final int[] byU;
+        private final int[] byV;     // Output: each finished range is sorted by (v, index)
+        private final int[] scratch; // Merge and strip buffer, shared by disjoint ranges
+        private final int from, to;
+        private final int cutoff;
+
+        ClosestTask(long[] u, long[] v, int[] byU, int[] byV, int[] scratch, int from, int to, int cutoff) {
+            this.u = u;
+            this.v = v;
+            this.byU = byU;
+            this.byV = byV;
+            this.scratch = scratch;
+            this.from = from;
+            this.to = to;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= cutoff) {
+                long best = bruteForce();
+                sortByV();
+                return best;
+            }
+
+            int mid = (from + to) >>> 1;
+            ClosestTask left = new ClosestTask(u, v, byU, byV, scratch, from, mid, cutoff);
+            left.fork();
+            long best = new ClosestTask(u, v, byU, byV, scratch, mid, to, cutoff).compute();
+            best = Math.min(best, left.join());
+            if (best == 0) {
+                // Nothing can beat zero, so every enclosing task returns at once without needing the v order.
+                return best;
+            }
+            mergeByV(mid);
+            return mergeStrip(u[byU[mid]], best);
+        }
+
+        /**
+         * Checks every pair in the range, stopping early once u alone is too far apart.
+         *
+         * @return The smallest distance in the range, or Long.MAX_VALUE for a single point.
+         */
+        private long bruteForce() {
+            long best = Long.MAX_VALUE;
+            for (int i = from; i < to; i++) {
+                for (int j = i + 1; j < to && u[byU[j]] - u[byU[i]] < best; j++) {
+                    best = Math.min(best, NearestPointsFinder.chebyshev(u, v, byU[i], byU[j]));
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Fills byV[from..to) with the range's points ordered by (v, index).
+         */
+        private void sortByV() {
+            long[] packed = new long[to - from];
+            for (int k = from; k < to; k++) {
+                packed[k - from] = NearestPointsFinder.pack(v[byU[k]], byU[k]);
+            }
+            Arrays.sort(packed);
+            for (int k = from; k < to; k++) {
+                byV[k] = NearestPointsFinder.unpackIndex(packed[k - from]);
+            }
+        }
+
+        /**
+         * Merges the v-ordered halves byV[from..mid) and byV[mid..to).
+         *
+         * @param mid Where the second half starts.
+         */
+        private void mergeByV(int mid) {
+            int i = from, j = mid, k = from;
+            while (i < mid && j < to) {
+                int a = byV[i], b = byV[j];
+                scratch[k++] = v[a] < v[b] || (v[a] == v[b] && a < b) ? byV[i++] : byV[j++];
+            }
+            while (i < mid) {
+                scratch[k++] = byV[i++];
+            }
+            while (j < to) {
+                scratch[k++] = byV[j++];
+            }
+            System.arraycopy(scratch, from, byV, from, to - from);
+        }
+
+        /**
+         * Looks for a closer pair among the points within the current best distance of
+         * the dividing line, scanning them in v order.
+         *
+         * @param dividingU The u value the range was split at.
+         * @param best The smallest distance found in either half.
+         * @return The smallest distance in the whole range.
+         */
+        private long mergeStrip(long dividingU, long best) {
+            int end = from;
+            for (int k = from; k < to; k++) {
+                if (Math.abs(u[byV[k]] - dividingU) < best) {
+                    scratch[end++] = byV[k];
+                }
+            }
+
+            for (int i = from; i < end; i++) {
+                for (int j = i + 1; j < end && v[scratch[j]] - v[scratch[i]] < best; j++) {
+                    best = Math.min(best, NearestPointsFinder.chebyshev(u, v, scratch[i], scratch[j]));
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Fork-join task that finds the lexicographically smallest pair at the minimum
+     * distance whose earlier point in cell order lies in byCell[from..to).
+     */
+    private static final class TieBreakTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] xVals, yVals;
+        private final long distance;
+        private final int[] byCell;
+        private final long[] cellU, cellV;
+        private final int from, to;
+        private final int cutoff;
+
+        TieBreakTask(int[] xVals, int[] yVals, long distance, int[] byCell, long[] cellU, long[] cellV,
+                     int from, int to, int cutoff) {
+            this.xVals = xVals;
+            this.yVals = yVals;
+            this.distance = distance;
+            this.byCell = byCell;
+            this.cellU = cellU;
+            this.cellV = cellV;
+            this.from = from;
+            this.to = to;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= cutoff) {
+                return NearestPointsFinder.smallestPairAt(xVals, yVals, distance, byCell, cellU, cellV, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            TieBreakTask left = new TieBreakTask(xVals, yVals, distance, byCell, cellU, cellV, from, mid, cutoff);
+            left.fork();
+            int[] right = new TieBreakTask(xVals, yVals, distance, byCell, cellU, cellV, mid, to, cutoff).compute();
+            return NearestPointsFinder.smallerPair(left.join(), right);
+        }
+    }
+
+    public static void main(String[] args) {
+        runTest(new int[]{1, 2, 3, 2, 4}, new int[]{2, 3, 1, 2, 3}, new int[]{0, 3});
+        runTest(new int[]{1, 1, 1}, new int[]{1, 1, 1}, new int[]{0, 1});
+        runTest(new int[]{1, 2, 3}, new int[]{4, 5, 6}, new int[]{0, 1});
+        runTest(new int[]{0, 10, 3, 13, 20, 7}, new int[]{0, 0, 4, 4, 9, 1}, new int[]{1, 5});
+    }
+
+    /**
+     * Runs a test case for the parallel getClosestPair function with a tiny cutoff,
+     * so that even small inputs exercise the split and merge steps.
+     *
+     * @param xVals X-coordinates.
+     * @param yVals Y-coordinates.
+     * @param expected Expected result.
+     */
+    private static void runTest(int[] xVals, int[] yVals, int[] expected) {
+        int[] result = getClosestPair(xVals, yVals, 2, 2);
+        System.out.printf("X: %s, Y: %s\n", Arrays.toString(xVals), Arrays.toString(yVals));
+        System.out.printf("Expected: %s, Got: %s\n", Arrays.toString(expected), Arrays.toString(result));
+        System.out.println(Arrays.equals(result, expected) ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+}
@@ -0,0 +1,222 @@
+package Question_No_2_Answer;
+
+import java.util.Arrays;
+
+/**
+ * Reusable spatial index over a fixed set of points for Manhattan-distance queries.
+ * Points are bucketed into a uniform grid of roughly one point per cell. Buckets are
+ * stored as two int arrays (cell offsets and point indices), so building the index
+ * is a counting sort in O(n) and queries only touch the cells near the query point.
+ */
+public class PointGridIndex {
+    private final int[] xVals;
+    private final int[] yVals;
+    private final long minX, minY;
+    private final long cellSize;
+    private final int cols, rows;
+    private final int[] cellStart;  // Points of cell c are cellPoints[cellStart[c] .. cellStart[c + 1])
+    private final int[] cellPoints; // Point indices grouped by cell, ascending within each cell
+
+    /**
+     * Builds the index. The coordinate arrays are referenced, not copied, and must
+     * not be modified while the index is in use.
+     *
+     * @param xVals Array of x-coordinates.
+     * @param yVals Array of y-coordinates.
+     */
+    public PointGridIndex(int[] xVals, int[] yVals) {
+        this.xVals = xVals;
+        this.yVals = yVals;
+        int n = xVals.length;
+
+        long lowX = Long.MAX_VALUE, highX = Long.MIN_VALUE, lowY = Long.MAX_VALUE, highY = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            lowX = Math.min(lowX, xVals[i]);
+            highX = Math.max(highX, xVals[i]);
+            lowY = Math.min(lowY, yVals[i]);
+            highY = Math.max(highY, yVals[i]);
+        }
+        if (n == 0) {
+            lowX = highX = lowY = highY = 0;
+        }
+
+        // Square cells sized so the grid has about one cell per point.
+        long span = Math.max(highX - lowX, highY - lowY) + 1;
+        long side = Math.max(1, (long) Math.ceil(Math.sqrt(n)));
+        this.cellSize = Math.max(1, (span + side - 1) / side);
+        this.minX = lowX;
+        this.minY = lowY;
+        this.cols = (int) ((highX - lowX) / cellSize) + 1;
+        this.rows = (int) ((highY - lowY) / cellSize) + 1;
+
+        // Counting sort of the points by cell.
+        this.cellStart = new int[cols * rows + 1];
+        for (int i = 0; i < n; i++) {
+            cellStart[cellOf(i) + 1]++;
+        }
+        for (int c = 0; c < cols * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        this.cellPoints = new int[n];
+        int[] next = Arrays.copyOf(cellStart, cols * rows);
+        for (int i = 0; i < n; i++) {
+            cellPoints[next[cellOf(i)]++] = i;
+        }
+    }
+
+    /**
+     * Finds the point nearest to a query location.
+     * Rings of cells around the query are scanned outwards until no closer point can exist.
+     *
+     * @param qx X-coordinate of the query.
+     * @param qy Y-coordinate of the query.
+     * @return The index of the nearest point (the smallest index on ties), or -1 if there are no points.
+     */
+    public int nearest(int qx, int qy) {
+        int centerCol = columnOf(qx), centerRow = rowOf(qy);
+        long bestDistance = Long.MAX_VALUE;
+        int bestIndex = -1;
+
+        int maxRing = Math.max(cols, rows);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every point in ring r is at least (r - 1) * cellSize + 1 away from the query.
+            if (bestIndex >= 0 && ring > 0 && (ring - 1) * cellSize + 1 > bestDistance) {
+                break;
+            }
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                if (row < 0 || row >= rows) {
+                    continue;
+                }
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int col = centerCol - ring; col <= centerCol + ring; col += step) {
+                    if (col < 0 || col >= cols) {
+                        continue;
+                    }
+                    int cell = row * cols + col;
+                    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                        int p = cellPoints[k];
+                        long distance = distanceTo(p, qx, qy);
+                        if (distance < bestDistance || (distance == bestDistance && p < bestIndex)) {
+                            bestDistance = distance;
+                            bestIndex = p;
+                        }
+                    }
+                }
+            }
+        }
+        return bestIndex;
+    }
+
+    /**
+     * Finds every point within a Manhattan distance of a query location.
+     *
+     * @param qx X-coordinate of the query.
+     * @param qy Y-coordinate of the query.
+     * @param maxDistance The largest allowed distance.
+     * @return Indices of the matching points in ascending order.
+     */
+    public int[] withinDistance(int qx, int qy, long maxDistance) {
+        if (maxDistance < 0 || cellPoints.length == 0) {
+            return new int[0];
+        }
+        int fromCol = columnOf(qx - maxDistance), toCol = columnOf(qx + maxDistance);
+        int fromRow = rowOf(qy - maxDistance), toRow = rowOf(qy + maxDistance);
+
+        int[] found = new int[16];
+        int count = 0;
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int col = fromCol; col <= toCol; col++) {
+                int cell = row * cols + col;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int p = cellPoints[k];
+                    if (distanceTo(p, qx, qy) <= maxDistance) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = p;
+                    }
+                }
+            }
+        }
+        int[] result = Arrays.copyOf(found, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * @param p Index of a point.
+     * @return The grid cell holding that point.
+     */
+    private int cellOf(int p) {
+        return rowOf(yVals[p]) * cols + columnOf(xVals[p]);
+    }
+
+    /**
+     * @param x An x-coordinate, possibly outside the grid.
+     * @return The grid column holding it, clamped to the grid.
+     */
+    private int columnOf(long x) {
+        return (int) Math.max(0, Math.min(cols - 1, Math.floorDiv(x - minX, cellSize)));
+    }
+
+    /**
+     * @param y A y-coordinate, possibly outside the grid.
+     * @return The grid row holding it, clamped to the grid.
+     */
+    private int rowOf(long y) {
+        return (int) Math.max(0, Math.min(rows - 1, Math.floorDiv(y - minY, cellSize)));
+    }
+
+    /**
+     * @param p Index of a point.
+     * @param qx X-coordinate of the query.
+     * @param qy Y-coordinate of the query.
+     * @return The Manhattan distance from the point to the query.
+     */
+    private long distanceTo(int p, long qx, long qy) {
+        return Math.abs(xVals[p] - qx) + Math.abs(yVals[p] - qy);
+    }
+
+    public static void main(String[] args) {
+        PointGridIndex index = new PointGridIndex(new int[]{1, 2, 3, 2, 4}, new int[]{2, 3, 1, 2, 3});
+        runNearestTest(index, 2, 2, 3);
+        runNearestTest(index, 0, 0, 0);
+        runNearestTest(index, 10, 10, 4);
+        runRadiusTest(index, 2, 2, 1, new int[]{0, 1, 3});
+        runRadiusTest(index, 100, 100, 5, new int[]{});
+    }
+
+    /**
+     * Runs a test case for the nearest function.
+     *
+     * @param index The index to query.
+     * @param qx X-coordinate of the query.
+     * @param qy Y-coordinate of the query.
+     * @param expected Expected point index.
+     */
+    private static void runNearestTest(PointGridIndex index, int qx, int qy, int expected) {
+        int result = index.nearest(qx, qy);
+        System.out.printf("Nearest to (%d, %d)\n", qx, qy);
+        System.out.printf("Expected: %d, Got: %d\n", expected, result);
+        System.out.println(result == expected ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+
+    /**
+     * Runs a test case for the withinDistance function.
+     *
+     * @param index The index to query.
+     * @param qx X-coordinate of the query.
+     * @param qy Y-coordinate of the query.
+     * @param maxDistance The largest allowed distance.
+     * @param expected Expected point indices.
+     */
+    private static void runRadiusTest(PointGridIndex index, int qx, int qy, long maxDistance, int[] expected) {
+        int[] result = index.withinDistance(qx, qy, maxDistance);
+        System.out.printf("Within %d of (%d, %d)\n", maxDistance, qx, qy);
+        System.out.printf("Expected: %s, Got: %s\n", Arrays.toString(expected), Arrays.toString(result));
+        System.out.println(Arrays.equals(result, expected) ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+}
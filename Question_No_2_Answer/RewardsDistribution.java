@@ -1,8 +1,14 @@
 package Question_No_2_Answer;
 
 import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 public class RewardsDistribution {
+    // Below this many ratings splitting the work across threads is not worth it
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
     /**
      * Calculates the minimum rewards needed for employees based on performance.
      *
@@ -31,10 +37,153 @@ public class RewardsDistribution {
         return Arrays.stream(rewards).sum();
     }
 
+    /**
+     * Calculates the minimum rewards for a stream of performance ratings in a single pass
+     * and constant memory, without storing the ratings or the rewards.
+     *
+     * @param performance Employee performance ratings, in order.
+     * @return Minimum rewards required.
+     */
+    public static long calculateRewardsStreaming(IntStream performance) {
+        return calculateRewardsStreaming(performance.iterator());
+    }
+
+    /**
+     * Calculates the minimum rewards for a sequence of performance ratings in a single pass
+     * and constant memory, without storing the ratings or the rewards.
+     *
+     * @param performance Employee performance ratings, in order.
+     * @return Minimum rewards required.
+     */
+    public static long calculateRewardsStreaming(PrimitiveIterator.OfInt performance) {
+        SlopeCounter counter = new SlopeCounter();
+        while (performance.hasNext()) {
+            counter.accept(performance.nextInt());
+        }
+        return counter.total();
+    }
+
+    /**
+     * Calculates the minimum rewards using all available cores.
+     * The ratings are cut into segments at points where no reward constraint crosses:
+     * between two equal neighbours, or at a valley (a rating no higher than either
+     * neighbour), which always gets exactly one reward. Segments cut at a valley share
+     * that valley, so its single reward is subtracted once per shared cut. Each
+     * segment is then totalled independently in parallel.
+     *
+     * @param performance Employee performance ratings.
+     * @return Minimum rewards required.
+     */
+    public static long calculateRewardsParallel(int[] performance) {
+        int n = performance.length;
+        int segments = ForkJoinPool.commonPool().getParallelism() * 4;
+        if (n < PARALLEL_THRESHOLD || segments < 2) {
+            return sumRange(performance, 0, n);
+        }
+
+        // starts[k] is the first index of segment k; shared[k] is true when segment k
+        // starts on the valley that ends segment k - 1.
+        int[] starts = new int[segments + 1];
+        boolean[] shared = new boolean[segments + 1];
+        int count = 1;
+        int scan = 1;
+        for (int k = 1; k < segments; k++) {
+            scan = Math.max(scan, (int) ((long) n * k / segments));
+            while (scan < n - 1 && performance[scan] != performance[scan - 1]
+                    && !(performance[scan] < performance[scan - 1] && performance[scan] <= performance[scan + 1])) {
+                scan++;
+            }
+            if (scan >= n - 1) {
+                break;
+            }
+            starts[count] = scan;
+            shared[count] = performance[scan] != performance[scan - 1];
+            count++;
+            scan++;
+        }
+        starts[count] = n;
+
+        int segmentCount = count;
+        long total = IntStream.range(0, segmentCount).parallel()
+                .mapToLong(k -> sumRange(performance, starts[k], shared[k + 1] ? starts[k + 1] + 1 : starts[k + 1]))
+                .sum();
+        for (int k = 1; k < segmentCount; k++) {
+            if (shared[k]) {
+                total--;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Calculates the minimum rewards for performance[from..to) on its own.
+     *
+     * @param performance Employee performance ratings.
+     * @param from The first index (inclusive).
+     * @param to The last index (exclusive).
+     * @return Minimum rewards required for that range.
+     */
+    private static long sumRange(int[] performance, int from, int to) {
+        SlopeCounter counter = new SlopeCounter();
+        for (int i = from; i < to; i++) {
+            counter.accept(performance[i]);
+        }
+        return counter.total();
+    }
+
+    /**
+     * Single-pass reward total based on the lengths of the current rising and falling runs.
+     * A rising step pays one more than the step before it. A falling step pays for the
+     * whole falling run so far, and the peak before the run is raised only once the
+     * falling run grows longer than the rise that led up to it.
+     */
+    private static final class SlopeCounter {
+        private long total;
+        private boolean started;
+        private int previous;
+        private int up, down, peak;
+
+        /**
+         * Adds the next rating.
+         *
+         * @param rating The next employee's performance rating.
+         */
+        void accept(int rating) {
+            if (!started) {
+                started = true;
+                total = 1;
+            } else if (rating > previous) {
+                up++;
+                peak = up;
+                down = 0;
+                total += 1 + up;
+            } else if (rating == previous) {
+                up = down = peak = 0;
+                total += 1;
+            } else {
+                up = 0;
+                down++;
+                total += 1 + down - (peak >= down ? 1 : 0);
+            }
+            previous = rating;
+        }
+
+        /**
+         * @return The minimum rewards for the ratings seen so far.
+         */
+        long total() {
+            return total;
+        }
+    }
+
     public static void main(String[] args) {
         runTest(new int[]{1, 0, 2}, 5);
         runTest(new int[]{1, 2, 2}, 4);
         runTest(new int[]{1, 2, 3, 4, 5}, 15);
+        runStreamingTest(new int[]{1, 0, 2}, 5);
+        runStreamingTest(new int[]{1, 3, 5, 4, 3, 2, 1, 1, 2}, 21);
+        runStreamingTest(new int[]{}, 0);
+        runParallelTest(IntStream.range(0, 1 << 20).map(i -> (i * 7919) % 1000).toArray());
     }
 
     /**
@@ -50,4 +199,32 @@ public class RewardsDistribution {
         System.out.println(result == expected ? "Test PASSED" : "Test FAILED");
         System.out.println();
     }
+
+    /**
+     * Runs a test case to verify the streaming reward calculation.
+     *
+     * @param performance Employee performance ratings.
+     * @param expected Expected minimum rewards.
+     */
+    private static void runStreamingTest(int[] performance, long expected) {
+        long result = calculateRewardsStreaming(Arrays.stream(performance));
+        System.out.printf("Performance: %s (streaming)\n", Arrays.toString(performance));
+        System.out.printf("Expected: %d, Got: %d\n", expected, result);
+        System.out.println(result == expected ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+
+    /**
+     * Runs a test case to verify that the parallel calculation matches the two-pass one.
+     *
+     * @param performance Employee performance ratings.
+     */
+    private static void runParallelTest(int[] performance) {
+        long expected = calculateRewards(performance);
+        long result = calculateRewardsParallel(performance);
+        System.out.printf("Performance: %d generated ratings (parallel)\n", performance.length);
+        System.out.printf("Expected: %d, Got: %d\n", expected, result);
+        System.out.println(result == expected ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
 }
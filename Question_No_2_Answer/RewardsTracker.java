@@ -0,0 +1,106 @@
+package Question_No_2_Answer;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the minimum reward total up to date while individual ratings change.
+ * Each employee's reward is max(rise[i], fall[i]), where rise[i] is the length of the
+ * strictly increasing run ending at i and fall[i] the length of the strictly decreasing
+ * run starting at i. A rating change only alters the comparisons next to it, so only the
+ * runs through that index are recomputed, and the walk stops as soon as a run length
+ * comes out unchanged.
+ */
+public class RewardsTracker {
+    private final int[] performance;
+    private final int[] rise;
+    private final int[] fall;
+    private long total;
+
+    /**
+     * Builds the tracker from the initial ratings, which are copied.
+     *
+     * @param performance Employee performance ratings.
+     */
+    public RewardsTracker(int[] performance) {
+        int n = performance.length;
+        this.performance = performance.clone();
+        this.rise = new int[n];
+        this.fall = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            rise[i] = i > 0 && performance[i] > performance[i - 1] ? rise[i - 1] + 1 : 1;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            fall[i] = i < n - 1 && performance[i] > performance[i + 1] ? fall[i + 1] + 1 : 1;
+        }
+        for (int i = 0; i < n; i++) {
+            total += Math.max(rise[i], fall[i]);
+        }
+    }
+
+    /**
+     * Changes one employee's rating and updates the total.
+     * Costs O(length of the runs through index) rather than O(n).
+     *
+     * @param index The employee whose rating changed.
+     * @param newRating The new performance rating.
+     * @return Minimum rewards required after the change.
+     */
+    public long update(int index, int newRating) {
+        int n = performance.length;
+        performance[index] = newRating;
+
+        // Rising runs: the comparisons at index and index + 1 changed; beyond that a run
+        // length only changes if the one before it did.
+        for (int i = index; i < n; i++) {
+            int newRise = i > 0 && performance[i] > performance[i - 1] ? rise[i - 1] + 1 : 1;
+            if (newRise == rise[i] && i > index) {
+                break;
+            }
+            total += Math.max(newRise, fall[i]) - Math.max(rise[i], fall[i]);
+            rise[i] = newRise;
+        }
+
+        // Falling runs, mirrored to the left.
+        for (int i = index; i >= 0; i--) {
+            int newFall = i < n - 1 && performance[i] > performance[i + 1] ? fall[i + 1] + 1 : 1;
+            if (newFall == fall[i] && i < index) {
+                break;
+            }
+            total += Math.max(rise[i], newFall) - Math.max(rise[i], fall[i]);
+            fall[i] = newFall;
+        }
+        return total;
+    }
+
+    /**
+     * @return Minimum rewards required for the current ratings.
+     */
+    public long total() {
+        return total;
+    }
+
+    public static void main(String[] args) {
+        runTest(new int[]{1, 0, 2}, 1, 3, 4);
+        runTest(new int[]{1, 2, 2}, 2, 3, 6);
+        runTest(new int[]{1, 2, 3, 4, 5}, 0, 9, 12);
+        runTest(new int[]{5, 4, 3, 2, 1}, 2, 3, 15);
+    }
+
+    /**
+     * Runs a test case for a single rating update.
+     *
+     * @param performance Initial performance ratings.
+     * @param index The employee whose rating changes.
+     * @param newRating The new rating.
+     * @param expected Expected minimum rewards after the update.
+     */
+    private static void runTest(int[] performance, int index, int newRating, long expected) {
+        RewardsTracker tracker = new RewardsTracker(performance);
+        long result = tracker.update(index, newRating);
+        System.out.printf("Performance: %s, set [%d] = %d\n", Arrays.toString(performance), index, newRating);
+        System.out.printf("Expected: %d, Got: %d\n", expected, result);
+        System.out.println(result == expected ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+}
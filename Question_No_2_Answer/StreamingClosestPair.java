@@ -0,0 +1,276 @@
+package Question_No_2_Answer;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the closest pair (Manhattan distance) of a growing set of points up to date
+ * as points arrive one at a time.
+ * Points are stored in a hash grid over the rotated coordinates u = x + y, v = x - y,
+ * with cells as wide as the best distance when the grid was last built. Cells are never
+ * narrower than the current best distance, so an insert only inspects the 3 x 3 block
+ * of cells around it. The grid is rebuilt only once the best distance has at least
+ * halved; until then no two points are closer than half a cell, so each cell holds at
+ * most four points. Distances are integers below 2^33, so however the points arrive the
+ * grid is rebuilt at most 34 times.
+ */
+public class StreamingClosestPair {
+    private int[] xVals = new int[16];
+    private int[] yVals = new int[16];
+    private int[] nextInCell = new int[16]; // Next point in the same grid cell, or -1
+    private int size;
+
+    private long bestDistance = Long.MAX_VALUE;
+    private int bestFirst = 0, bestSecond = 1;
+
+    private long cellSize;                               // Best distance when the grid was last built
+    private final CellTable grid = new CellTable();      // Cell -> last point added to it, used while bestDistance > 0
+    private final CellTable firstIndexAt = new CellTable(); // Exact point -> smallest index, used once bestDistance is 0
+
+    /**
+     * Adds a point and updates the closest pair.
+     * Ties are broken like NearestPointsFinder.getClosestPair: the lexicographically
+     * smallest (i, j) among pairs at the minimum distance.
+     *
+     * @param x X-coordinate of the new point.
+     * @param y Y-coordinate of the new point.
+     * @return The index assigned to the point.
+     */
+    public int add(int x, int y) {
+        if (size == xVals.length) {
+            xVals = Arrays.copyOf(xVals, size * 2);
+            yVals = Arrays.copyOf(yVals, size * 2);
+            nextInCell = Arrays.copyOf(nextInCell, size * 2);
+        }
+        int index = size++;
+        xVals[index] = x;
+        yVals[index] = y;
+
+        int duplicateOf = firstIndexAt.get(x, y);
+        if (duplicateOf < 0) {
+            firstIndexAt.put(x, y, index);
+        }
+
+        if (index == 0) {
+            return index;
+        }
+        if (index == 1) {
+            bestDistance = distance(0, 1);
+            rebuildGrid();
+            return index;
+        }
+
+        if (bestDistance == 0) {
+            // Only another copy of an existing point can tie; prefer the smaller first index.
+            if (duplicateOf >= 0 && duplicateOf < bestFirst) {
+                bestFirst = duplicateOf;
+                bestSecond = index;
+            }
+            return index;
+        }
+
+        long closest = Long.MAX_VALUE;
+        int partner = -1;
+        long cellU = cellOf((long) x + y), cellV = cellOf((long) x - y);
+        for (long du = -1; du <= 1; du++) {
+            for (long dv = -1; dv <= 1; dv++) {
+                for (int other = grid.get(cellU + du, cellV + dv); other >= 0; other = nextInCell[other]) {
+                    long d = distance(other, index);
+                    if (d < closest || (d == closest && other < partner)) {
+                        closest = d;
+                        partner = other;
+                    }
+                }
+            }
+        }
+
+        if (closest < bestDistance) {
+            bestDistance = closest;
+            bestFirst = partner;
+            bestSecond = index;
+            if (bestDistance <= cellSize / 2) {
+                rebuildGrid();
+                return index;
+            }
+        } else if (closest == bestDistance && partner < bestFirst) {
+            bestFirst = partner;
+            bestSecond = index;
+        }
+        addToCell(index, cellU, cellV);
+        return index;
+    }
+
+    /**
+     * @return The number of points added so far.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Indices of the closest pair, or {0, 1} before two points have been added.
+     */
+    public int[] closestPair() {
+        return new int[]{bestFirst, bestSecond};
+    }
+
+    /**
+     * @return The Manhattan distance of the closest pair, or Long.MAX_VALUE before two points have been added.
+     */
+    public long closestDistance() {
+        return bestDistance;
+    }
+
+    /**
+     * Re-buckets every point with cells as wide as the new best distance.
+     * Once the best distance is 0 the grid is no longer needed.
+     */
+    private void rebuildGrid() {
+        grid.clear();
+        cellSize = bestDistance;
+        if (bestDistance == 0) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            addToCell(i, cellOf((long) xVals[i] + yVals[i]), cellOf((long) xVals[i] - yVals[i]));
+        }
+    }
+
+    /**
+     * Links a point into the front of its cell's list.
+     *
+     * @param index Index of the point.
+     * @param cellU Cell coordinate along u.
+     * @param cellV Cell coordinate along v.
+     */
+    private void addToCell(int index, long cellU, long cellV) {
+        nextInCell[index] = grid.get(cellU, cellV);
+        grid.put(cellU, cellV, index);
+    }
+
+    /**
+     * @param coordinate A rotated coordinate.
+     * @return The grid cell along that axis.
+     */
+    private long cellOf(long coordinate) {
+        return Math.floorDiv(coordinate, cellSize);
+    }
+
+    /**
+     * @param a Index of the first point.
+     * @param b Index of the second point.
+     * @return The Manhattan distance between the two points.
+     */
+    private long distance(int a, int b) {
+        return Math.abs((long) xVals[a] - xVals[b]) + Math.abs((long) yVals[a] - yVals[b]);
+    }
+
+    /**
+     * Open-addressing hash table from a pair of longs to a non-negative int, stored in
+     * primitive arrays so lookups neither allocate keys nor box values.
+     */
+    private static final class CellTable {
+        private long[] firstKeys = new long[16];
+        private long[] secondKeys = new long[16];
+        private int[] values = emptySlots(16); // -1 marks an empty slot
+        private int count;
+
+        /**
+         * @param first First half of the key.
+         * @param second Second half of the key.
+         * @return The value stored for the key, or -1 if there is none.
+         */
+        int get(long first, long second) {
+            return values[slotOf(first, second)];
+        }
+
+        /**
+         * Stores a value for a key, replacing any previous one.
+         *
+         * @param first First half of the key.
+         * @param second Second half of the key.
+         * @param value A non-negative value.
+         */
+        void put(long first, long second, int value) {
+            int slot = slotOf(first, second);
+            if (values[slot] < 0) {
+                firstKeys[slot] = first;
+                secondKeys[slot] = second;
+                count++;
+            }
+            values[slot] = value;
+            if (count * 2 > values.length) {
+                grow();
+            }
+        }
+
+        /**
+         * Removes every entry, keeping the current capacity.
+         */
+        void clear() {
+            Arrays.fill(values, -1);
+            count = 0;
+        }
+
+        /**
+         * Finds the slot holding a key, or the empty slot where it would go.
+         */
+        private int slotOf(long first, long second) {
+            int mask = values.length - 1;
+            long hash = (first * 0x9E3779B97F4A7C15L + second) * 0xC2B2AE3D27D4EB4FL;
+            int slot = (int) (hash ^ (hash >>> 32)) & mask;
+            while (values[slot] >= 0 && (firstKeys[slot] != first || secondKeys[slot] != second)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldFirst = firstKeys, oldSecond = secondKeys;
+            int[] oldValues = values;
+            firstKeys = new long[oldValues.length * 2];
+            secondKeys = new long[oldValues.length * 2];
+            values = emptySlots(oldValues.length * 2);
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] >= 0) {
+                    int slot = slotOf(oldFirst[i], oldSecond[i]);
+                    firstKeys[slot] = oldFirst[i];
+                    secondKeys[slot] = oldSecond[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int[] emptySlots(int length) {
+            int[] slots = new int[length];
+            Arrays.fill(slots, -1);
+            return slots;
+        }
+    }
+
+    public static void main(String[] args) {
+        runTest(new int[]{1, 2, 3, 2, 4}, new int[]{2, 3, 1, 2, 3}, new int[]{0, 3});
+        runTest(new int[]{1, 1, 1}, new int[]{1, 1, 1}, new int[]{0, 1});
+        runTest(new int[]{1, 2, 3}, new int[]{4, 5, 6}, new int[]{0, 1});
+        runTest(new int[]{5, 1, 9, 1, 5}, new int[]{5, 1, 9, 1, 5}, new int[]{0, 4});
+        runTest(new int[]{0, 64, 96, 112, 120, 124, 125}, new int[]{0, 0, 0, 0, 0, 0, 0}, new int[]{5, 6});
+    }
+
+    /**
+     * Runs a test case by streaming the points in order.
+     *
+     * @param xVals X-coordinates.
+     * @param yVals Y-coordinates.
+     * @param expected Expected result once every point is added.
+     */
+    private static void runTest(int[] xVals, int[] yVals, int[] expected) {
+        StreamingClosestPair tracker = new StreamingClosestPair();
+        for (int i = 0; i < xVals.length; i++) {
+            tracker.add(xVals[i], yVals[i]);
+        }
+        int[] result = tracker.closestPair();
+        System.out.printf("X: %s, Y: %s\n", Arrays.toString(xVals), Arrays.toString(yVals));
+        System.out.printf("Expected: %s, Got: %s\n", Arrays.toString(expected), Arrays.toString(result));
+        System.out.println(Arrays.equals(result, expected) ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+}
@@ -0,0 +1,194 @@
+package Question_No_3_Answer;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-free Tetris board where each row is an int bitmask
+ * (bit c set when column c is filled).
+ * Every piece rotation is precomputed as a small array of row masks, so a collision
+ * test is a few AND operations and clearing a line is one bit comparison and one
+ * System.arraycopy. Nothing is allocated after the class is loaded.
+ */
+public class BitBoard {
+    public static final int WIDTH = 10; // Width of the board in tiles
+    public static final int HEIGHT = 20; // Height of the board in tiles
+    public static final int PIECE_COUNT = 7; // Number of distinct pieces
+    public static final int ROTATIONS = 4; // Rotations per piece (some repeat)
+    static final int FULL_ROW = (1 << WIDTH) - 1; // Mask of a completely filled row
+
+    // Piece shapes, in the same order and orientation as TetrisGame has always used
+    static final int[][][] SHAPES = {
+        {{1, 1, 1, 1}},           // I-block
+        {{1, 1}, {1, 1}},         // O-block
+        {{1, 1, 1}, {0, 1, 0}},   // T-block
+        {{1, 1, 0}, {0, 1, 1}},   // Z-block
+        {{0, 1, 1}, {1, 1, 0}},   // S-block
+        {{1, 0, 0}, {1, 1, 1}},   // L-block
+        {{0, 0, 1}, {1, 1, 1}}    // J-block
+    };
+
+    // PIECE_ROWS[piece][rotation][r] is the mask of row r of the piece, anchored at column 0
+    static final int[][][] PIECE_ROWS = new int[PIECE_COUNT][ROTATIONS][];
+    // PIECE_WIDTH[piece][rotation] is the number of columns the piece spans
+    static final int[][] PIECE_WIDTH = new int[PIECE_COUNT][ROTATIONS];
+
+    static {
+        for (int piece = 0; piece < PIECE_COUNT; piece++) {
+            int[][] shape = SHAPES[piece];
+            for (int rotation = 0; rotation < ROTATIONS; rotation++) {
+                int[] masks = new int[shape.length];
+                for (int i = 0; i < shape.length; i++) {
+                    for (int j = 0; j < shape[0].length; j++) {
+                        if (shape[i][j] != 0) {
+                            masks[i] |= 1 << j;
+                        }
+                    }
+                }
+                PIECE_ROWS[piece][rotation] = masks;
+                PIECE_WIDTH[piece][rotation] = shape[0].length;
+                shape = rotateClockwise(shape);
+            }
+        }
+    }
+
+    private final int[] rows = new int[HEIGHT]; // Row masks, row 0 at the top
+
+    /**
+     * Rotates a shape matrix 90 degrees clockwise, the same way a falling block rotates.
+     *
+     * @param shape The shape to rotate
+     * @return The rotated shape
+     */
+    private static int[][] rotateClockwise(int[][] shape) {
+        int[][] rotated = new int[shape[0].length][shape.length];
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[0].length; j++) {
+                rotated[j][shape.length - 1 - i] = shape[i][j];
+            }
+        }
+        return rotated;
+    }
+
+    /**
+     * Checks whether a piece fits at a position
+     *
+     * @param piece The piece index
+     * @param rotation The rotation index
+     * @param row The board row of the piece's top edge
+     * @param col The board column of the piece's left edge
+     * @return true if the piece is inside the board and overlaps no filled cell
+     */
+    public boolean canPlace(int piece, int rotation, int row, int col) {
+        int[] masks = PIECE_ROWS[piece][rotation];
+        if (col < 0 || col + PIECE_WIDTH[piece][rotation] > WIDTH || row < 0 || row + masks.length > HEIGHT) {
+            return false;
+        }
+        for (int r = 0; r < masks.length; r++) {
+            if ((rows[row + r] & (masks[r] << col)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fills the cells covered by a piece. The position must be inside the board.
+     *
+     * @param piece The piece index
+     * @param rotation The rotation index
+     * @param row The board row of the piece's top edge
+     * @param col The board column of the piece's left edge
+     */
+    public void place(int piece, int rotation, int row, int col) {
+        int[] masks = PIECE_ROWS[piece][rotation];
+        for (int r = 0; r < masks.length; r++) {
+            rows[row + r] |= masks[r] << col;
+        }
+    }
+
+    /**
+     * Removes every completed row and shifts the rows above it down
+     *
+     * @return The number of rows removed
+     */
+    public int clearFullRows() {
+        int cleared = 0;
+        for (int i = 0; i < HEIGHT; i++) {
+            if (rows[i] == FULL_ROW) {
+                System.arraycopy(rows, 0, rows, 1, i); // Shift everything above down by one
+                rows[0] = 0;
+                cleared++;
+            }
+        }
+        return cleared;
+    }
+
+    /**
+     * @return true if any cell in the top row is filled
+     */
+    public boolean isTopRowFilled() {
+        return rows[0] != 0;
+    }
+
+    /**
+     * @param row The board row
+     * @param col The board column
+     * @return true if the cell is filled
+     */
+    public boolean isFilled(int row, int col) {
+        return (rows[row] & (1 << col)) != 0;
+    }
+
+    /**
+     * @param row The board row
+     * @return The mask of filled cells in that row
+     */
+    public int getRow(int row) {
+        return rows[row];
+    }
+
+    /**
+     * Overwrites this board with the contents of another one
+     *
+     * @param other The board to copy
+     */
+    public void copyFrom(BitBoard other) {
+        System.arraycopy(other.rows, 0, rows, 0, HEIGHT);
+    }
+
+    /**
+     * Empties the board
+     */
+    public void clear() {
+        Arrays.fill(rows, 0);
+    }
+
+    public static void main(String[] args) {
+        BitBoard board = new BitBoard();
+        runTest("Empty board accepts I-block at top left", board.canPlace(0, 0, 0, 0), true);
+        runTest("I-block cannot stick out on the right", board.canPlace(0, 0, 0, 7), false);
+        runTest("Vertical I-block fits in the last column", board.canPlace(0, 1, 16, 9), true);
+
+        // Fill the bottom row with two I-blocks and an O-block, leaving nothing empty
+        board.place(0, 0, 19, 0);
+        board.place(0, 0, 19, 4);
+        board.place(1, 0, 18, 8);
+        runTest("Placed piece blocks the same cells", board.canPlace(1, 0, 18, 8), false);
+        runTest("One row cleared", board.clearFullRows() == 1, true);
+        runTest("O-block half dropped to the bottom row", board.getRow(19) == (3 << 8), true);
+    }
+
+    /**
+     * Runs a test case for the board operations
+     *
+     * @param name Description of the case
+     * @param result The observed result
+     * @param expected The expected result
+     */
+    private static void runTest(String name, boolean result, boolean expected) {
+        System.out.println(name);
+        System.out.printf("Expected: %b, Got: %b\n", expected, result);
+        System.out.println(result == expected ? "PASSED" : "FAILED");
+        System.out.println();
+    }
+}
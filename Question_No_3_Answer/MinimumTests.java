@@ -1,6 +1,6 @@
 package Question_No_3_Answer;
 
-
+import Question_No_1_Answer.MinimumTestsSolver;
 
 public class MinimumTests {
     /**
@@ -9,18 +9,23 @@ public class MinimumTests {
      * @param samples Number of available samples.
      * @param levels Number of temperature levels.
      * @return Minimum number of tests required.
+     * @throws IllegalArgumentException If samples is less than 1.
      */
     public static int findMinimumTests(int samples, int levels) {
-        int[][] dp = new int[samples + 1][levels + 1];
-        int tests = 0;
+        return MinimumTestsSolver.minimumTests(samples, levels);
+    }
 
-        while (dp[samples][tests] < levels) {
-            tests++;
-            for (int i = 1; i <= samples; i++) {
-                dp[i][tests] = dp[i - 1][tests - 1] + dp[i][tests - 1] + 1;
-            }
-        }
-        return tests;
+    /**
+     * Finds the minimum number of tests with the binomial-sum search, which stays
+     * fast and small even for very large level counts.
+     *
+     * @param samples Number of available samples.
+     * @param levels Number of temperature levels.
+     * @return Minimum number of tests required.
+     * @throws IllegalArgumentException If samples is less than 1.
+     */
+    public static int findMinimumTestsBinomial(int samples, int levels) {
+        return MinimumTestsSolver.minimumTestsBinomial(samples, levels);
     }
 
     public static void main(String[] args) {
@@ -30,6 +35,11 @@ public class MinimumTests {
         runTest(4, 20, 5);
         runTest(2, 10, 4);
         runTest(3, 25, 5);
+        runTest(2, 1000000000, 44721);
+        runBinomialTest(3, 25, 5);
+        runBinomialTest(2, 1000000000, 44721);
+        runBinomialTest(1, 1000000000, 1000000000);
+        runBinomialTest(100, Integer.MAX_VALUE, 31);
     }
 
     /**
@@ -46,4 +56,19 @@ public class MinimumTests {
         System.out.println(result == expected ? "PASSED" : "FAILED");
         System.out.println();
     }
+
+    /**
+     * Runs a test case to check if the binomial solver works correctly.
+     *
+     * @param samples Number of samples.
+     * @param levels Number of temperature levels.
+     * @param expected Expected number of tests.
+     */
+    private static void runBinomialTest(int samples, int levels, int expected) {
+        int result = findMinimumTestsBinomial(samples, levels);
+        System.out.printf("Samples: %d, Levels: %d (binomial)\n", samples, levels);
+        System.out.printf("Expected: %d, Got: %d\n", expected, result);
+        System.out.println(result == expected ? "PASSED" : "FAILED");
+        System.out.println();
+    }
 }
@@ -0,0 +1,155 @@
+package Question_No_3_Answer;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replay log format and player.
+ * A log is a header (int magic, byte version, long seed) followed by records of
+ * (varint tick delta, action byte), ending with a record whose action is END.
+ * The tick of a record is the engine tick count when the input was applied, so
+ * feeding the same inputs at the same ticks into a TetrisEngine with the same
+ * seed reproduces the game exactly; the END record carries the final tick count.
+ * Replay drives the engine directly, as fast as the CPU allows.
+ */
+public final class ReplayLog {
+    static final int MAGIC = 0x54524C47; // "TRLG"
+    static final byte VERSION = 1; // Current format version
+    static final byte END = (byte) 0xFF; // Action byte of the final record
+
+    private ReplayLog() {
+    }
+
+    /**
+     * Replays a log file
+     *
+     * @param file The log file
+     * @return The engine in its final state
+     * @throws IOException If the file cannot be read or is not a valid log
+     */
+    public static TetrisEngine replay(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Replays a log held in a buffer, from its position to the END record
+     *
+     * @param log The log bytes
+     * @return The engine in its final state
+     * @throws IOException If the bytes are not a valid log
+     */
+    public static TetrisEngine replay(ByteBuffer log) throws IOException {
+        try {
+            if (log.getInt() != MAGIC) {
+                throw new IOException("Not a Tetris replay log");
+            }
+            byte version = log.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay log version: " + version);
+            }
+            TetrisEngine engine = new TetrisEngine(log.getLong());
+            long tick = 0;
+            while (true) {
+                tick += readVarLong(log);
+                byte action = log.get();
+                while (engine.getTicks() < tick && engine.tick()) {
+                    // Advance gravity to the tick the input was made on
+                }
+                if (action == END) {
+                    return engine;
+                }
+                engine.apply(action);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated replay log", e);
+        }
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint
+     *
+     * @param log The buffer to read from
+     * @return The decoded value
+     * @throws IOException If the varint is longer than a long
+     */
+    private static long readVarLong(ByteBuffer log) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = log.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed tick delta in replay log");
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Record an auto-played game the same way TetrisGame records key presses
+        Path file = Files.createTempFile("tetris", ".replay");
+        long seed = 2024;
+        TetrisEngine live = new TetrisEngine(seed);
+        TetrisStrategy player = new TetrisAutoPlayer();
+        try (ReplayRecorder recorder = new ReplayRecorder(file, seed)) {
+            while (!live.isGameOver() && live.getTicks() < 20000) {
+                int action = player.nextAction(live);
+                if (action != TetrisEngine.NONE) {
+                    recorder.record(live.getTicks(), action);
+                    live.apply(action);
+                }
+                live.tick();
+            }
+            recorder.end(live.getTicks());
+        }
+        System.out.printf("Recorded %d ticks in %d bytes\n\n", live.getTicks(), Files.size(file));
+
+        TetrisEngine replayed = replay(file);
+        runTest("Replay reaches the same score", replayed.getScore() == live.getScore(), true);
+        runTest("Replay reaches the same tick", replayed.getTicks() == live.getTicks(), true);
+        boolean sameBoard = true;
+        for (int row = 0; row < BitBoard.HEIGHT; row++) {
+            sameBoard &= replayed.getBoard().getRow(row) == live.getBoard().getRow(row);
+        }
+        runTest("Replay reaches the same board", sameBoard, true);
+
+        ByteBuffer garbage = ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5});
+        boolean rejected;
+        try {
+            replay(garbage);
+            rejected = false;
+        } catch (IOException e) {
+            rejected = true;
+        }
+        runTest("Invalid log is rejected", rejected, true);
+
+        byte[] bytes = Files.readAllBytes(file);
+        long start = System.nanoTime();
+        int replays = 200;
+        for (int i = 0; i < replays; i++) {
+            replay(ByteBuffer.wrap(bytes));
+        }
+        System.out.printf("%.0f ticks/s replayed\n\n", replays * (double) live.getTicks() * 1e9 / (System.nanoTime() - start));
+        Files.delete(file);
+    }
+
+    /**
+     * Runs a test case for the replay log
+     *
+     * @param name Description of the case
+     * @param result The observed result
+     * @param expected The expected result
+     */
+    private static void runTest(String name, boolean result, boolean expected) {
+        System.out.println(name);
+        System.out.printf("Expected: %b, Got: %b\n", expected, result);
+        System.out.println(result == expected ? "PASSED" : "FAILED");
+        System.out.println();
+    }
+}
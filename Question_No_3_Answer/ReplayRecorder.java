@@ -0,0 +1,118 @@
+package Question_No_3_Answer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a game session to a replay log (see ReplayLog for the format).
+ * Records are appended to a direct buffer and written to the file channel only
+ * when the buffer fills up or the log is closed, so recording an input during
+ * live play is a handful of byte writes.
+ */
+public class ReplayRecorder implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16; // Bytes buffered between channel writes
+    private static final int MAX_RECORD_BYTES = 11; // Longest varint plus the action byte
+
+    private final FileChannel channel; // Log file, opened for writing
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE); // Pending bytes
+    private long lastTick; // Tick of the previous record
+    private boolean ended; // Whether the END record has been written
+
+    /**
+     * Creates (or truncates) a log file and writes its header
+     *
+     * @param file The log file
+     * @param seed The seed the recorded game was started with
+     * @throws IOException If the file cannot be opened
+     */
+    public ReplayRecorder(Path file, long seed) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(ReplayLog.MAGIC).put(ReplayLog.VERSION).putLong(seed);
+    }
+
+    /**
+     * Appends an input
+     *
+     * @param tick The engine tick count when the input was applied
+     * @param action The TetrisEngine action
+     * @throws IOException If the buffer had to be flushed and the write failed
+     */
+    public void record(long tick, int action) throws IOException {
+        write(tick, (byte) action);
+    }
+
+    /**
+     * Appends the END record, so a replay also plays the ticks after the last input
+     *
+     * @param finalTick The engine tick count when the game stopped
+     * @throws IOException If the write failed
+     */
+    public void end(long finalTick) throws IOException {
+        if (!ended) {
+            write(finalTick, ReplayLog.END);
+            ended = true;
+        }
+    }
+
+    /**
+     * Writes one record, encoding the tick as a varint delta from the previous record
+     *
+     * @param tick The tick of the record
+     * @param action The action byte
+     * @throws IOException If the buffer had to be flushed and the write failed
+     */
+    private void write(long tick, byte action) throws IOException {
+        if (ended) {
+            throw new IllegalStateException("Replay already ended");
+        }
+        if (tick < lastTick) {
+            throw new IllegalArgumentException("Ticks must not go backwards: " + tick + " < " + lastTick);
+        }
+        if (buffer.remaining() < MAX_RECORD_BYTES) {
+            flush();
+        }
+        long delta = tick - lastTick;
+        while ((delta & ~0x7FL) != 0) {
+            buffer.put((byte) (delta | 0x80));
+            delta >>>= 7;
+        }
+        buffer.put((byte) delta);
+        buffer.put(action);
+        lastTick = tick;
+    }
+
+    /**
+     * Writes all buffered records to the file
+     *
+     * @throws IOException If the write failed
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Ends the log at the last recorded tick if end was not called, then flushes and closes the file
+     *
+     * @throws IOException If the write failed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!ended) {
+                end(lastTick);
+            }
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package Question_No_3_Answer;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Automatic Tetris player with one piece of lookahead.
+ * Every distinct rotation and column of the current piece is scored with a board
+ * heuristic (aggregate height, holes, bumpiness, completed rows); the best few of
+ * those are expanded with every placement of the next piece, and the move with the
+ * best two-piece outcome wins. Pieces are dropped in O(piece width) from per-column
+ * heights instead of stepping row by row, and all candidate boards are built in
+ * preallocated scratch boards, so a decision allocates nothing in sequential mode.
+ * An instance keeps its own scratch state and plan; use one per game, never share one across threads.
+ */
+public class TetrisAutoPlayer implements TetrisStrategy {
+    // Heuristic weights, tuned for the classic four-feature evaluation
+    private static final double HEIGHT_WEIGHT = -0.510066; // Sum of column heights
+    private static final double LINES_WEIGHT = 0.760666; // Rows cleared
+    private static final double HOLES_WEIGHT = -0.35663; // Empty cells under a filled cell
+    private static final double BUMPINESS_WEIGHT = -0.184483; // Height differences of neighbouring columns
+    private static final double LOSS = -1e9; // Score of a board that ends the game
+    private static final double INVALID = Double.NEGATIVE_INFINITY; // Marks a placement that does not fit
+
+    public static final int DEFAULT_BEAM_WIDTH = 8; // First-ply placements expanded with the next piece
+    private static final int MOVES = BitBoard.ROTATIONS * BitBoard.WIDTH; // Upper bound on placements of one piece
+
+    // BOTTOM[piece][rotation][j] is the row offset of the lowest cell in column j of the piece
+    static final int[][][] BOTTOM = new int[BitBoard.PIECE_COUNT][BitBoard.ROTATIONS][];
+    // DISTINCT_ROTATIONS[piece] is how many leading rotations differ before the shapes repeat
+    static final int[] DISTINCT_ROTATIONS = new int[BitBoard.PIECE_COUNT];
+
+    static {
+        for (int piece = 0; piece < BitBoard.PIECE_COUNT; piece++) {
+            DISTINCT_ROTATIONS[piece] = BitBoard.ROTATIONS;
+            for (int rotation = 0; rotation < BitBoard.ROTATIONS; rotation++) {
+                int[] masks = BitBoard.PIECE_ROWS[piece][rotation];
+                int[] bottom = new int[BitBoard.PIECE_WIDTH[piece][rotation]];
+                for (int j = 0; j < bottom.length; j++) {
+                    for (int r = 0; r < masks.length; r++) {
+                        if ((masks[r] & (1 << j)) != 0) {
+                            bottom[j] = r;
+                        }
+                    }
+                }
+                BOTTOM[piece][rotation] = bottom;
+                if (rotation > 0 && DISTINCT_ROTATIONS[piece] == BitBoard.ROTATIONS
+                        && Arrays.equals(masks, BitBoard.PIECE_ROWS[piece][0])) {
+                    DISTINCT_ROTATIONS[piece] = rotation;
+                }
+            }
+        }
+    }
+
+    /**
+     * Preallocated boards and arrays for evaluating candidates
+     */
+    private static final class Scratch {
+        final BitBoard first = new BitBoard(); // Board after the current piece
+        final BitBoard second = new BitBoard(); // Board after the next piece
+        final int[] heights = new int[BitBoard.WIDTH]; // Column heights of the board being decided on
+        final int[] firstHeights = new int[BitBoard.WIDTH]; // Column heights of the first board
+        final int[] secondHeights = new int[BitBoard.WIDTH]; // Column heights of the second board
+        final double[] firstScores = new double[MOVES]; // Heuristic score of each first placement
+    }
+
+    private final int beamWidth; // First-ply placements expanded with the next piece
+    private final boolean parallel; // Expand the beam on the common fork-join pool
+    private final Scratch scratch = new Scratch(); // Scratch for the calling thread
+    private final ThreadLocal<Scratch> workerScratch = ThreadLocal.withInitial(Scratch::new); // Scratch for pool workers
+    private final int[] beam; // Moves chosen for expansion, best first
+    private final double[] beamValues; // Two-piece value of each beam move
+
+    // Plan for the piece being played
+    private long plannedPiece = -1; // Engine piece count the plan was made for
+    private int targetRotation, targetCol; // Where the current piece should go
+    private int lastAction = TetrisEngine.NONE; // Action emitted on the previous call
+    private int lastRotation, lastCol; // Piece position when that action was emitted
+
+    /**
+     * Creates a sequential player with the default beam width
+     */
+    public TetrisAutoPlayer() {
+        this(DEFAULT_BEAM_WIDTH, false);
+    }
+
+    /**
+     * Creates a player
+     *
+     * @param beamWidth Number of first-ply placements to expand with the next piece
+     * @param parallel true to expand the beam on the common fork-join pool
+     */
+    public TetrisAutoPlayer(int beamWidth, boolean parallel) {
+        this.beamWidth = Math.max(1, Math.min(beamWidth, MOVES));
+        this.parallel = parallel;
+        this.beam = new int[this.beamWidth];
+        this.beamValues = new double[this.beamWidth];
+    }
+
+    /**
+     * Steers the current piece towards the best placement: rotate, then shift,
+     * then hard drop. A new placement is searched for each new piece, and if a
+     * rotation or shift turns out to be blocked the piece is dropped where it is.
+     *
+     * @param engine The game being played
+     * @return The next input action
+     */
+    @Override
+    public int nextAction(TetrisEngine engine) {
+        if (engine.getPieceCount() != plannedPiece) {
+            plannedPiece = engine.getPieceCount();
+            int move = findBestMove(engine.getBoard(), engine.getPiece(), engine.getRow(), engine.getNextPiece());
+            targetRotation = move < 0 ? engine.getRotation() : move / BitBoard.WIDTH;
+            targetCol = move < 0 ? engine.getCol() : move % BitBoard.WIDTH;
+            lastAction = TetrisEngine.NONE;
+        } else if (lastAction != TetrisEngine.NONE
+                && engine.getRotation() == lastRotation && engine.getCol() == lastCol) {
+            targetRotation = lastRotation; // Last move was blocked, give up on the plan
+            targetCol = lastCol;
+        }
+
+        int action;
+        if (engine.getRotation() != targetRotation) {
+            action = TetrisEngine.ROTATE;
+        } else if (engine.getCol() > targetCol) {
+            action = TetrisEngine.LEFT;
+        } else if (engine.getCol() < targetCol) {
+            action = TetrisEngine.RIGHT;
+        } else {
+            action = TetrisEngine.DROP;
+        }
+        lastAction = action;
+        lastRotation = engine.getRotation();
+        lastCol = engine.getCol();
+        return action;
+    }
+
+    /**
+     * Finds the best placement of a piece given the piece that follows it
+     *
+     * @param board The settled cells
+     * @param piece The piece to place
+     * @param row The current row of the piece; placements landing above it are skipped
+     * @param nextPiece The piece that follows
+     * @return rotation * BitBoard.WIDTH + column of the best placement, or -1 if none fits
+     */
+    public int findBestMove(BitBoard board, int piece, int row, int nextPiece) {
+        Scratch s = scratch;
+        columnHeights(board, s.heights);
+
+        // First ply: score every placement of the current piece
+        int candidates = 0;
+        for (int move = 0; move < MOVES; move++) {
+            s.firstScores[move] = INVALID;
+        }
+        for (int rotation = 0; rotation < DISTINCT_ROTATIONS[piece]; rotation++) {
+            for (int col = 0; col + BitBoard.PIECE_WIDTH[piece][rotation] <= BitBoard.WIDTH; col++) {
+                int landing = landingRow(s.heights, piece, rotation, col);
+                if (landing < row) {
+                    continue;
+                }
+                s.first.copyFrom(board);
+                s.first.place(piece, rotation, landing, col);
+                int lines = s.first.clearFullRows();
+                s.firstScores[rotation * BitBoard.WIDTH + col] = evaluate(s.first, lines, s.firstHeights);
+                candidates++;
+            }
+        }
+        if (candidates == 0) {
+            return -1;
+        }
+
+        // Keep the best few for the second ply, selected in place without sorting
+        int width = Math.min(beamWidth, candidates);
+        for (int i = 0; i < width; i++) {
+            int best = 0;
+            for (int move = 1; move < MOVES; move++) {
+                if (s.firstScores[move] > s.firstScores[best]) {
+                    best = move;
+                }
+            }
+            beam[i] = best;
+            s.firstScores[best] = INVALID;
+        }
+
+        // Second ply: value each beam move by the best follow-up placement
+        if (parallel && width > 1) {
+            IntStream.range(0, width).parallel()
+                .forEach(i -> beamValues[i] = expand(board, piece, beam[i], nextPiece, workerScratch.get()));
+        } else {
+            for (int i = 0; i < width; i++) {
+                beamValues[i] = expand(board, piece, beam[i], nextPiece, s);
+            }
+        }
+
+        int best = 0;
+        for (int i = 1; i < width; i++) {
+            if (beamValues[i] > beamValues[best]) {
+                best = i;
+            }
+        }
+        return beam[best];
+    }
+
+    /**
+     * Values a placement of the current piece by the best placement of the next piece after it
+     *
+     * @param board The settled cells
+     * @param piece The current piece
+     * @param move The placement of the current piece
+     * @param nextPiece The piece that follows
+     * @param s Scratch space owned by the calling thread
+     * @return The best score of the board after both pieces, or LOSS if the first placement ends the game
+     */
+    private static double expand(BitBoard board, int piece, int move, int nextPiece, Scratch s) {
+        int rotation = move / BitBoard.WIDTH;
+        int col = move % BitBoard.WIDTH;
+        columnHeights(board, s.heights);
+        s.first.copyFrom(board);
+        s.first.place(piece, rotation, landingRow(s.heights, piece, rotation, col), col);
+        int firstLines = s.first.clearFullRows();
+        if (evaluate(s.first, firstLines, s.firstHeights) == LOSS) {
+            return LOSS;
+        }
+
+        double best = LOSS;
+        for (int r = 0; r < DISTINCT_ROTATIONS[nextPiece]; r++) {
+            for (int c = 0; c + BitBoard.PIECE_WIDTH[nextPiece][r] <= BitBoard.WIDTH; c++) {
+                int landing = landingRow(s.firstHeights, nextPiece, r, c);
+                if (landing < 0) {
+                    continue;
+                }
+                s.second.copyFrom(s.first);
+                s.second.place(nextPiece, r, landing, c);
+                int lines = s.second.clearFullRows();
+                best = Math.max(best, evaluate(s.second, firstLines + lines, s.secondHeights));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the row a piece comes to rest on when dropped straight down
+     *
+     * @param heights Column heights of the board
+     * @param piece The piece index
+     * @param rotation The rotation index
+     * @param col The board column of the piece's left edge
+     * @return The board row of the piece's top edge, negative if the piece does not fit
+     */
+    static int landingRow(int[] heights, int piece, int rotation, int col) {
+        int[] bottom = BOTTOM[piece][rotation];
+        int row = BitBoard.HEIGHT;
+        for (int j = 0; j < bottom.length; j++) {
+            row = Math.min(row, BitBoard.HEIGHT - heights[col + j] - 1 - bottom[j]);
+        }
+        return row;
+    }
+
+    /**
+     * Computes the height of each column and the number of holes in one top-down pass
+     *
+     * @param board The board
+     * @param heights Receives the height of each column (0 when empty)
+     * @return The number of empty cells with a filled cell somewhere above them
+     */
+    static int columnHeights(BitBoard board, int[] heights) {
+        Arrays.fill(heights, 0);
+        int seen = 0; // Columns with a filled cell at or above the current row
+        int holes = 0;
+        for (int r = 0; r < BitBoard.HEIGHT; r++) {
+            int row = board.getRow(r);
+            holes += Integer.bitCount(seen & ~row);
+            for (int fresh = row & ~seen; fresh != 0; fresh &= fresh - 1) {
+                heights[Integer.numberOfTrailingZeros(fresh)] = BitBoard.HEIGHT - r;
+            }
+            seen |= row;
+        }
+        return holes;
+    }
+
+    /**
+     * Scores a board with the heuristic
+     *
+     * @param board The board after placing and clearing
+     * @param lines Rows cleared to reach this board
+     * @param heights Receives the column heights of the board
+     * @return The heuristic score, or LOSS if the top row is filled
+     */
+    static double evaluate(BitBoard board, int lines, int[] heights) {
+        int holes = columnHeights(board, heights);
+        if (board.isTopRowFilled()) {
+            return LOSS;
+        }
+        int aggregate = heights[0];
+        int bumpiness = 0;
+        for (int c = 1; c < BitBoard.WIDTH; c++) {
+            aggregate += heights[c];
+            bumpiness += Math.abs(heights[c] - heights[c - 1]);
+        }
+        return HEIGHT_WEIGHT * aggregate + LINES_WEIGHT * lines + HOLES_WEIGHT * holes + BUMPINESS_WEIGHT * bumpiness;
+    }
+
+    public static void main(String[] args) {
+        // Bottom four rows full except the last column: a vertical I-block clears all four
+        BitBoard board = new BitBoard();
+        for (int row = 16; row < 20; row++) {
+            board.place(0, 0, row, 0);
+            board.place(0, 0, row, 4);
+        }
+        board.place(0, 1, 16, 8);
+        int move = new TetrisAutoPlayer().findBestMove(board, 0, 0, 1);
+        runTest("I-block goes vertically into the well", move == 1 * BitBoard.WIDTH + 9, true);
+
+        int[] heights = new int[BitBoard.WIDTH];
+        runTest("Landing row on an empty board", landingRow(heights, 1, 0, 4) == BitBoard.HEIGHT - 2, true);
+
+        TetrisBatchRunner.Result idle = TetrisBatchRunner.run(20, 5, 5000, random -> engine -> TetrisEngine.NONE, 1);
+        TetrisBatchRunner.Result auto = TetrisBatchRunner.run(20, 5, 5000, random -> new TetrisAutoPlayer(), Runtime.getRuntime().availableProcessors());
+        System.out.println(auto);
+        runTest("Auto player clears rows", auto.getMeanScore() > 1000 && auto.getMeanScore() > idle.getMeanScore(), true);
+
+        TetrisBatchRunner.Result parallel = TetrisBatchRunner.run(20, 5, 5000, random -> new TetrisAutoPlayer(DEFAULT_BEAM_WIDTH, true), 1);
+        runTest("Parallel search plays the same games", Arrays.equals(auto.getScores(), parallel.getScores()), true);
+
+        TetrisAutoPlayer player = new TetrisAutoPlayer();
+        long start = System.nanoTime();
+        int decisions = 20000;
+        for (int i = 0; i < decisions; i++) {
+            player.findBestMove(board, i % BitBoard.PIECE_COUNT, 0, (i + 3) % BitBoard.PIECE_COUNT);
+        }
+        System.out.printf("%.0f decisions/s\n\n", decisions * 1e9 / (System.nanoTime() - start));
+    }
+
+    /**
+     * Runs a test case for the auto player
+     *
+     * @param name Description of the case
+     * @param result The observed result
+     * @param expected The expected result
+     */
+    private static void runTest(String name, boolean result, boolean expected) {
+        System.out.println(name);
+        System.out.printf("Expected: %b, Got: %b\n", expected, result);
+        System.out.println(result == expected ? "PASSED" : "FAILED");
+        System.out.println();
+    }
+}
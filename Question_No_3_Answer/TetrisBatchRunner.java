@@ -0,0 +1,218 @@
+package Question_No_3_Answer;
+
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Runs many independent headless games in parallel to evaluate a strategy.
+ * Game i always gets the i-th pair of generators split from the root seed, one for
+ * its pieces and one for its player, and a fresh strategy instance built from the
+ * player's generator. A batch is therefore reproducible regardless of thread count
+ * or scheduling, and strategies may keep mutable state without it leaking between games.
+ */
+public class TetrisBatchRunner {
+
+    /**
+     * Outcome of a batch of games
+     */
+    public static final class Result {
+        private final int[] scores; // Final score of each game, by game index
+        private final long totalTicks; // Ticks played across all games
+        private final long elapsedNanos; // Wall-clock time of the batch
+        private final IntSummaryStatistics stats; // Min, max and mean score
+
+        Result(int[] scores, long totalTicks, long elapsedNanos) {
+            this.scores = scores;
+            this.totalTicks = totalTicks;
+            this.elapsedNanos = elapsedNanos;
+            this.stats = Arrays.stream(scores).summaryStatistics();
+        }
+
+        /**
+         * @return The final score of each game, by game index
+         */
+        public int[] getScores() {
+            return scores.clone();
+        }
+
+        /**
+         * @return The number of games played
+         */
+        public int getGames() {
+            return scores.length;
+        }
+
+        /**
+         * @return The number of ticks played across all games
+         */
+        public long getTotalTicks() {
+            return totalTicks;
+        }
+
+        /**
+         * @return The lowest final score
+         */
+        public int getMinScore() {
+            return stats.getMin();
+        }
+
+        /**
+         * @return The highest final score
+         */
+        public int getMaxScore() {
+            return stats.getMax();
+        }
+
+        /**
+         * @return The mean final score
+         */
+        public double getMeanScore() {
+            return stats.getAverage();
+        }
+
+        /**
+         * @return Games completed per second of wall-clock time
+         */
+        public double getGamesPerSecond() {
+            return scores.length * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games in %.3f s (%.1f games/s, %d ticks), score min %d / max %d / mean %.1f",
+                scores.length, elapsedNanos / 1e9, getGamesPerSecond(), totalTicks,
+                getMinScore(), getMaxScore(), getMeanScore());
+        }
+    }
+
+    /**
+     * Plays a batch of games in parallel
+     *
+     * @param games Number of games to play
+     * @param seed Root seed the per-game generators are split from
+     * @param maxTicks Cap on the length of each game, since a good strategy may never lose
+     * @param strategies Creates the player of one game from that game's own generator
+     * @param parallelism Number of worker threads
+     * @return Scores, throughput and score statistics of the batch
+     */
+    public static Result run(int games, long seed, long maxTicks,
+                             Function<SplittableRandom, ? extends TetrisStrategy> strategies, int parallelism) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] pieces = new SplittableRandom[games];
+        SplittableRandom[] players = new SplittableRandom[games];
+        for (int i = 0; i < games; i++) {
+            pieces[i] = root.split(); // Split in index order so game i is the same on every run
+            players[i] = root.split();
+        }
+
+        int[] scores = new int[games];
+        long[] ticks = new long[games];
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new GameTask(pieces, players, strategies, scores, ticks, maxTicks, 0, games));
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new Result(scores, Arrays.stream(ticks).sum(), elapsed);
+    }
+
+    /**
+     * Plays one game to the end or to the tick cap
+     *
+     * @param random The game's piece generator
+     * @param strategy The player
+     * @param maxTicks Cap on the length of the game
+     * @return The finished engine
+     */
+    static TetrisEngine play(SplittableRandom random, TetrisStrategy strategy, long maxTicks) {
+        TetrisEngine engine = new TetrisEngine(random);
+        while (!engine.isGameOver() && engine.getTicks() < maxTicks) {
+            engine.apply(strategy.nextAction(engine));
+            engine.tick();
+        }
+        return engine;
+    }
+
+    /**
+     * Splits the range of games in half until a single game is left, then plays it
+     */
+    private static final class GameTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SplittableRandom[] pieces;
+        private final SplittableRandom[] players;
+        private final Function<SplittableRandom, ? extends TetrisStrategy> strategies;
+        private final int[] scores;
+        private final long[] ticks;
+        private final long maxTicks;
+        private final int from, to;
+
+        GameTask(SplittableRandom[] pieces, SplittableRandom[] players, Function<SplittableRandom, ? extends TetrisStrategy> strategies,
+                 int[] scores, long[] ticks, long maxTicks, int from, int to) {
+            this.pieces = pieces;
+            this.players = players;
+            this.strategies = strategies;
+            this.scores = scores;
+            this.ticks = ticks;
+            this.maxTicks = maxTicks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int i = from; i < to; i++) {
+                    TetrisEngine engine = play(pieces[i], strategies.apply(players[i]), maxTicks);
+                    scores[i] = engine.getScore();
+                    ticks[i] = engine.getTicks();
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new GameTask(pieces, players, strategies, scores, ticks, maxTicks, from, mid),
+                      new GameTask(pieces, players, strategies, scores, ticks, maxTicks, mid, to));
+        }
+    }
+
+    public static void main(String[] args) {
+        // Pseudo-random inputs drawn from each game's own player generator
+        Function<SplittableRandom, TetrisStrategy> randomInputs = inputs -> engine -> inputs.nextInt(TetrisEngine.DROP + 1);
+        Function<SplittableRandom, TetrisStrategy> idle = inputs -> engine -> TetrisEngine.NONE;
+
+        Result single = run(200, 42, 100000, randomInputs, 1);
+        Result parallel = run(200, 42, 100000, randomInputs, Runtime.getRuntime().availableProcessors());
+        runTest("Same seed gives the same games on any thread count",
+            Arrays.equals(single.getScores(), parallel.getScores()) && single.getTotalTicks() == parallel.getTotalTicks(), true);
+
+        Result capped = run(50, 7, 5, idle, 2);
+        runTest("Tick cap limits game length", capped.getTotalTicks() == 50L * 5, true);
+
+        Result random = run(2000, 123, 100000, randomInputs, Runtime.getRuntime().availableProcessors());
+        System.out.println(random);
+        runTest("Statistics are consistent", random.getMinScore() <= random.getMeanScore()
+            && random.getMeanScore() <= random.getMaxScore() && random.getGames() == 2000, true);
+    }
+
+    /**
+     * Runs a test case for the batch runner
+     *
+     * @param name Description of the case
+     * @param result The observed result
+     * @param expected The expected result
+     */
+    private static void runTest(String name, boolean result, boolean expected) {
+        System.out.println(name);
+        System.out.printf("Expected: %b, Got: %b\n", expected, result);
+        System.out.println(result == expected ? "PASSED" : "FAILED");
+        System.out.println();
+    }
+}
@@ -0,0 +1,300 @@
+package Question_No_3_Answer;
+
+import java.util.SplittableRandom;
+
+/**
+ * Headless Tetris game logic with no Swing dependency.
+ * Holds the board, the falling piece and the next piece, and advances only when
+ * told to (tick or an input action), so it can run at full CPU speed for bulk
+ * self-play or be driven by a Swing timer for live play. Given the same seed and
+ * the same sequence of inputs and ticks, a game always plays out identically.
+ */
+public class TetrisEngine {
+    // Input actions
+    public static final int NONE = 0; // No input
+    public static final int LEFT = 1; // Move one column left
+    public static final int RIGHT = 2; // Move one column right
+    public static final int ROTATE = 3; // Rotate 90 degrees clockwise
+    public static final int DOWN = 4; // Soft drop one row
+    public static final int DROP = 5; // Hard drop to the bottom
+
+    public static final int COLOR_COUNT = 7; // Number of colors a piece can be drawn in
+    private static final int SPAWN_ROW = 0; // New pieces start at the top row
+    private static final int SPAWN_COL = 3; // ...and roughly centered horizontally
+    private static final int POINTS_PER_ROW = 100; // Score for each completed row
+
+    private final BitBoard board = new BitBoard(); // Settled cells
+    private final SplittableRandom random; // Source of pieces and colors
+
+    private int piece, rotation, row, col, color; // Current falling piece
+    private int nextPiece, nextColor; // Piece waiting in the queue
+    private int score; // Player's score
+    private long ticks; // Number of gravity steps taken
+    private long pieceCount; // Number of pieces spawned, including the current one
+
+    /**
+     * Creates a game whose piece sequence is determined by a seed
+     *
+     * @param seed The random seed
+     */
+    public TetrisEngine(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Creates a game that draws its pieces from the given generator
+     *
+     * @param random The generator to draw pieces and colors from
+     */
+    public TetrisEngine(SplittableRandom random) {
+        this.random = random;
+        nextPiece = random.nextInt(BitBoard.PIECE_COUNT);
+        nextColor = random.nextInt(COLOR_COUNT);
+        spawnNextPiece();
+    }
+
+    /**
+     * Plays a whole game without rendering: each input is applied and then
+     * gravity advances one tick, until the inputs run out or the game ends
+     *
+     * @param seed The random seed
+     * @param inputs One input action per tick
+     * @return The final score
+     */
+    public static int run(long seed, int[] inputs) {
+        TetrisEngine engine = new TetrisEngine(seed);
+        for (int i = 0; i < inputs.length && !engine.isGameOver(); i++) {
+            engine.apply(inputs[i]);
+            engine.tick();
+        }
+        return engine.getScore();
+    }
+
+    /**
+     * Applies a single input action, ignored once the game is over
+     *
+     * @param action One of the action constants
+     */
+    public void apply(int action) {
+        if (isGameOver()) {
+            return;
+        }
+        switch (action) {
+            case LEFT:
+                moveLeft();
+                break;
+            case RIGHT:
+                moveRight();
+                break;
+            case ROTATE:
+                rotate();
+                break;
+            case DOWN:
+                moveDown();
+                break;
+            case DROP:
+                hardDrop();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Advances gravity by one step
+     *
+     * @return true if the game is still running afterwards
+     */
+    public boolean tick() {
+        if (isGameOver()) {
+            return false;
+        }
+        ticks++;
+        moveDown();
+        return !isGameOver();
+    }
+
+    /**
+     * Moves the current piece one column left if the move is valid
+     */
+    public void moveLeft() {
+        if (board.canPlace(piece, rotation, row, col - 1)) {
+            col--;
+        }
+    }
+
+    /**
+     * Moves the current piece one column right if the move is valid
+     */
+    public void moveRight() {
+        if (board.canPlace(piece, rotation, row, col + 1)) {
+            col++;
+        }
+    }
+
+    /**
+     * Rotates the current piece clockwise if the rotated piece fits in place
+     */
+    public void rotate() {
+        int rotated = (rotation + 1) % BitBoard.ROTATIONS;
+        if (board.canPlace(piece, rotated, row, col)) {
+            rotation = rotated;
+        }
+    }
+
+    /**
+     * Moves the current piece one row down, or locks it in place if it cannot move
+     *
+     * @return true if the piece moved down, false if it was locked
+     */
+    public boolean moveDown() {
+        if (board.canPlace(piece, rotation, row + 1, col)) {
+            row++;
+            return true;
+        }
+        lockPiece();
+        return false;
+    }
+
+    /**
+     * Drops the current piece as far as it goes and locks it
+     */
+    public void hardDrop() {
+        while (moveDown()) {
+            // Keep moving down until blocked
+        }
+    }
+
+    /**
+     * Writes the current piece into the board, clears completed rows and
+     * brings in the next piece
+     */
+    private void lockPiece() {
+        board.place(piece, rotation, row, col);
+        score += board.clearFullRows() * POINTS_PER_ROW;
+        spawnNextPiece();
+    }
+
+    /**
+     * Makes the queued piece the current one and draws a new queued piece
+     */
+    private void spawnNextPiece() {
+        piece = nextPiece;
+        color = nextColor;
+        rotation = 0;
+        row = SPAWN_ROW;
+        col = SPAWN_COL;
+        nextPiece = random.nextInt(BitBoard.PIECE_COUNT);
+        nextColor = random.nextInt(COLOR_COUNT);
+        pieceCount++;
+    }
+
+    /**
+     * @return true once any cell in the top row is filled
+     */
+    public boolean isGameOver() {
+        return board.isTopRowFilled();
+    }
+
+    /**
+     * @return The settled cells; callers must treat it as read-only
+     */
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * @return The current piece index
+     */
+    public int getPiece() {
+        return piece;
+    }
+
+    /**
+     * @return The current piece's rotation index
+     */
+    public int getRotation() {
+        return rotation;
+    }
+
+    /**
+     * @return The board row of the current piece's top edge
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return The board column of the current piece's left edge
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * @return The current piece's color index
+     */
+    public int getColor() {
+        return color;
+    }
+
+    /**
+     * @return The index of the piece that will fall next
+     */
+    public int getNextPiece() {
+        return nextPiece;
+    }
+
+    /**
+     * @return The player's score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return The number of gravity steps taken so far
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return The number of pieces spawned so far, including the current one
+     */
+    public long getPieceCount() {
+        return pieceCount;
+    }
+
+    public static void main(String[] args) {
+        int[] inputs = new int[10000];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = (i * 7) % 6; // A fixed mix of every action
+        }
+        runTest("Same seed and inputs replay identically", run(42, inputs) == run(42, inputs), true);
+
+        TetrisEngine engine = new TetrisEngine(7);
+        engine.hardDrop();
+        runTest("Hard drop locks the piece on the bottom row", engine.getBoard().getRow(BitBoard.HEIGHT - 1) != 0, true);
+
+        TetrisEngine idle = new TetrisEngine(7);
+        while (idle.tick()) {
+            // Let pieces stack up with no input until the game ends
+        }
+        runTest("Game without input eventually ends", idle.isGameOver(), true);
+    }
+
+    /**
+     * Runs a test case for the engine
+     *
+     * @param name Description of the case
+     * @param result The observed result
+     * @param expected The expected result
+     */
+    private static void runTest(String name, boolean result, boolean expected) {
+        System.out.println(name);
+        System.out.printf("Expected: %b, Got: %b\n", expected, result);
+        System.out.println(result == expected ? "PASSED" : "FAILED");
+        System.out.println();
+    }
+}
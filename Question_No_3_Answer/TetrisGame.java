@@ -5,7 +5,12 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import javax.swing.*;
 import javax.swing.border.LineBorder;
 
@@ -16,68 +21,47 @@ import javax.swing.border.LineBorder;
 
  */
 
-/**
- * Class to represent a Tetris block with shape, color and position
- */
-class Block {
-    int[][] shape; // 2D array representing the block's shape
-    Color color; // Color of the block
-    int x, y; // Position of the block on the game board
-
-    /**
-     * Constructor to initialize a block with a specific shape and color
-     * 
-     * @param shape The 2D array representing the block's shape
-     * @param color The color of the block
-     */
-    public Block(int[][] shape, Color color) {
-        this.shape = shape; // Initialize the block shape
-        this.color = color; // Set the block color
-        this.x = 0; // Start at the top-left corner (row)
-        this.y = 3; // Center horizontally (column)
-    }
-
-    /**
-     * Rotates the block 90 degrees clockwise
-     * This transforms the block's shape matrix
-     */
-    public void rotate() {
-        int[][] rotated = new int[shape[0].length][shape.length]; // Create a new matrix with swapped dimensions
-        for (int i = 0; i < shape.length; i++) { // Iterate through rows
-            for (int j = 0; j < shape[0].length; j++) { // Iterate through columns
-                rotated[j][shape.length - 1 - i] = shape[i][j]; // Apply rotation transformation
-            }
-        }
-        shape = rotated; // Update the shape with the rotated matrix
-    }
-}
-
 /**
  * Main Tetris game class using Swing
- * Handles game logic, rendering, and user input
+ * Renders a TetrisEngine and forwards user input to it
  */
 public class TetrisGame extends JPanel implements ActionListener, KeyListener {
     // Game constants
-    private static final int BOARD_WIDTH = 10; // Width of the game board in tiles
-    private static final int BOARD_HEIGHT = 20; // Height of the game board in tiles
+    private static final int BOARD_WIDTH = BitBoard.WIDTH; // Width of the game board in tiles
+    private static final int BOARD_HEIGHT = BitBoard.HEIGHT; // Height of the game board in tiles
     private static final int TILE_SIZE = 30; // Size of each tile in pixels
     private static final int FPS = 10; // Frames per second (reduced for slower speed)
     private static final int DELAY = 1000 / FPS; // Delay between frames in milliseconds
     
     // Game state variables
-    private final int[][] gameBoard; // 2D array representing the game board (0=empty, 1=filled)
-    private final Queue<Block> blockQueue; // Queue to store the sequence of falling blocks
-    private Block currentBlock; // Current falling block
-    private int score; // Player's score
+    private final TetrisEngine engine; // Headless game logic this panel renders
+    private final long seed; // Seed the engine was created with
+    private ReplayRecorder recorder; // Replay log of this session, or null when not recording
     private final javax.swing.Timer timer; // Timer for game updates
     private boolean isPaused = false; // Flag to track if game is paused
     
+    // Rendering caches and the state that is currently on screen
+    private BufferedImage background; // Background and grid lines, drawn once per panel size
+    private BufferedImage settledTile; // Image of one settled cell
+    private final BufferedImage[] pieceTiles = new BufferedImage[COLORS.length]; // Image of one falling cell per color
+    private final int[] shownBoard = new int[BOARD_HEIGHT]; // Settled row masks as last drawn
+    private final int[] shownPiece = new int[BOARD_HEIGHT]; // Falling piece row masks as last drawn
+    private int shownColor = -1; // Falling piece color as last drawn
+    private int shownScore; // Score as last drawn
+    
+    // Frame time statistics
+    private boolean showFrameTime = false; // Flag to draw the frame time overlay
+    private long frameCount; // Number of frames painted
+    private long totalFrameNanos; // Time spent in all painted frames
+    private long lastFrameNanos; // Time spent in the most recent frame
+    
     // UI constants
     private static final Color BOARD_BACKGROUND = new Color(20, 20, 20); // Dark background for game board
     private static final Color GRID_COLOR = new Color(50, 50, 50); // Color for grid lines
     private static final Color BORDER_COLOR = new Color(100, 100, 100); // Color for border
     private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 16); // Font for score display
     private static final Font GAME_OVER_FONT = new Font("Arial", Font.BOLD, 24); // Font for game over message
+    private static final Rectangle SCORE_AREA = new Rectangle(0, 0, 6 * TILE_SIZE, 2 * TILE_SIZE); // Area covered by the score and frame time text
 
     // Predefined colors for blocks - using slightly muted professional colors
     private static final Color[] COLORS = {
@@ -92,9 +76,18 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
 
     /**
      * Constructor to initialize the game
-     * Sets up the game board, UI, and starts the game timer
+     * Sets up the UI, creates the game engine and starts the game timer
      */
     public TetrisGame() {
+        this(System.nanoTime()); // Different piece sequence each run
+    }
+
+    /**
+     * Constructor to initialize a game with a fixed piece sequence
+     * 
+     * @param seed The random seed for the game engine
+     */
+    public TetrisGame(long seed) {
         // Set up the panel properties
         setPreferredSize(new Dimension(BOARD_WIDTH * TILE_SIZE + 2, BOARD_HEIGHT * TILE_SIZE + 2)); // Add space for border
         setBackground(BOARD_BACKGROUND); // Set background color
@@ -103,10 +96,9 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
         addKeyListener(this); // Register for keyboard events
 
         // Initialize game state
-        gameBoard = new int[BOARD_HEIGHT][BOARD_WIDTH]; // Initialize empty game board
-        blockQueue = new LinkedList<>(); // Initialize empty block queue
-        score = 0; // Initialize score to zero
-        generateNewBlock(); // Generate the first block
+        this.seed = seed; // Kept for the replay log header
+        engine = new TetrisEngine(seed); // Empty board with the first piece falling
+        repaintChanged(); // Record the first piece as on screen
         
         // Start the game timer
         timer = new javax.swing.Timer(DELAY, this); // Create timer with specified delay
@@ -114,61 +106,50 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
     }
 
     /**
-     * Generates a new random Tetris block and adds it to the queue
-     * Creates blocks with different shapes and colors
+     * Starts writing every input of this game to a replay log
+     * Must be called before the first tick so the log covers the whole game
+     * 
+     * @param file The log file to create
+     * @throws IOException If the log file cannot be created
      */
-    private void generateNewBlock() {
-        Random random = new Random(); // Create random number generator
-        
-        // Define all possible Tetris block shapes
-        int[][][] shapes = {
-            {{1, 1, 1, 1}},           // I-block
-            {{1, 1}, {1, 1}},         // O-block
-            {{1, 1, 1}, {0, 1, 0}},   // T-block
-            {{1, 1, 0}, {0, 1, 1}},   // Z-block
-            {{0, 1, 1}, {1, 1, 0}},   // S-block
-            {{1, 0, 0}, {1, 1, 1}},   // L-block
-            {{0, 0, 1}, {1, 1, 1}}    // J-block
-        };
-        
-        // Select a random shape and color
-        int[][] shape = shapes[random.nextInt(shapes.length)]; // Choose random shape
-        Color color = COLORS[random.nextInt(COLORS.length)]; // Choose random color
-        
-        // Create and queue the new block
-        Block block = new Block(shape, color); // Create new block
-        blockQueue.add(block); // Add to queue
-        
-        // If there's no current block, get one from the queue
-        if (currentBlock == null) {
-            currentBlock = blockQueue.poll(); // Get first block from queue
+    public void startRecording(Path file) throws IOException {
+        if (engine.getTicks() > 0 || recorder != null) {
+            throw new IllegalStateException("Recording must start before the game does");
+        }
+        recorder = new ReplayRecorder(file, seed); // Writes the header with the seed
+    }
+
+    /**
+     * Ends and closes the replay log, if one is being written
+     */
+    public void stopRecording() {
+        if (recorder == null) { // Not recording
+            return;
         }
+        try (ReplayRecorder finished = recorder) { // Closes the file even if the last write fails
+            finished.end(engine.getTicks()); // Mark how long the game ran
+        } catch (IOException e) {
+            System.err.println("Could not finish replay log: " + e.getMessage());
+        }
+        recorder = null;
     }
 
     /**
-     * Checks if a block can move to a new position
+     * Appends an input to the replay log, if one is being written
+     * A failing log stops recording instead of interrupting the game
      * 
-     * @param block The block to check
-     * @param newX The new X position
-     * @param newY The new Y position
-     * @return true if the move is valid, false otherwise
+     * @param action The TetrisEngine action being applied
      */
-    private boolean canMove(Block block, int newX, int newY) {
-        // Check each cell of the block
-        for (int i = 0; i < block.shape.length; i++) { // Iterate through rows
-            for (int j = 0; j < block.shape[0].length; j++) { // Iterate through columns
-                if (block.shape[i][j] != 0) { // If this cell is part of the block
-                    int x = newX + i; // Calculate absolute row position
-                    int y = newY + j; // Calculate absolute column position
-                    
-                    // Check if position is out of bounds or already occupied
-                    if (x < 0 || x >= BOARD_HEIGHT || y < 0 || y >= BOARD_WIDTH || gameBoard[x][y] != 0) {
-                        return false; // Invalid move
-                    }
-                }
-            }
+    private void record(int action) {
+        if (recorder == null || action == TetrisEngine.NONE) { // Nothing to record
+            return;
+        }
+        try {
+            recorder.record(engine.getTicks(), action); // Input happens before the next tick
+        } catch (IOException e) {
+            System.err.println("Replay recording stopped: " + e.getMessage());
+            stopRecording();
         }
-        return true; // Move is valid
     }
 
     /**
@@ -176,9 +157,7 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
      * if the move is valid
      */
     public void moveLeft() {
-        if (canMove(currentBlock, currentBlock.x, currentBlock.y - 1)) { // Check if can move left
-            currentBlock.y--; // Decrease Y coordinate (move left)
-        }
+        engine.moveLeft();
     }
 
     /**
@@ -186,24 +165,14 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
      * if the move is valid
      */
     public void moveRight() {
-        if (canMove(currentBlock, currentBlock.x, currentBlock.y + 1)) { // Check if can move right
-            currentBlock.y++; // Increase Y coordinate (move right)
-        }
+        engine.moveRight();
     }
 
     /**
      * Rotates the current block if the rotation is valid
-     * Creates a temporary rotated block to check validity
      */
     public void rotateBlock() {
-        // Create a copy of the current block to test rotation
-        Block rotatedBlock = new Block(currentBlock.shape, currentBlock.color); // Create copy
-        rotatedBlock.rotate(); // Rotate the copy
-        
-        // Check if the rotated position is valid
-        if (canMove(rotatedBlock, currentBlock.x, currentBlock.y)) { // If rotation is valid
-            currentBlock.rotate(); // Apply rotation to actual block
-        }
+        engine.rotate();
     }
 
     /**
@@ -213,69 +182,7 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
      * @return true if the block moved down, false if it was placed
      */
     public boolean moveDown() {
-        if (canMove(currentBlock, currentBlock.x + 1, currentBlock.y)) { // Check if can move down
-            currentBlock.x++; // Increase X coordinate (move down)
-            return true; // Block moved successfully
-        } else {
-            placeBlock(); // Place the block on the board
-            return false; // Block couldn't move
-        }
-    }
-
-    /**
-     * Places the current block on the game board
-     * Marks the cells as filled and prepares the next block
-     */
-    private void placeBlock() {
-        // Add the block to the game board
-        for (int i = 0; i < currentBlock.shape.length; i++) { // Iterate through rows
-            for (int j = 0; j < currentBlock.shape[0].length; j++) { // Iterate through columns
-                if (currentBlock.shape[i][j] != 0) { // If this cell is part of the block
-                    gameBoard[currentBlock.x + i][currentBlock.y + j] = 1; // Mark as filled
-                }
-            }
-        }
-        
-        checkCompletedRows(); // Check for completed rows
-        currentBlock = blockQueue.poll(); // Get the next block from queue
-        generateNewBlock(); // Generate a new block for the queue
-    }
-
-    /**
-     * Checks for completed rows and updates the score
-     * A row is complete when all cells are filled
-     */
-    private void checkCompletedRows() {
-        for (int i = 0; i < BOARD_HEIGHT; i++) { // Check each row
-            boolean isComplete = true; // Assume row is complete
-            
-            // Check if all cells in the row are filled
-            for (int j = 0; j < BOARD_WIDTH; j++) { // Check each column
-                if (gameBoard[i][j] == 0) { // If any cell is empty
-                    isComplete = false; // Row is not complete
-                    break; // No need to check further
-                }
-            }
-            
-            if (isComplete) { // If row is complete
-                removeRow(i); // Remove the row
-                score += 100; // Increase the score
-            }
-        }
-    }
-
-    /**
-     * Removes a completed row and shifts all rows above it down
-     * 
-     * @param row The index of the row to remove
-     */
-    private void removeRow(int row) {
-        // Shift all rows above the completed row down
-        for (int i = row; i > 0; i--) { // Start from completed row and move up
-            gameBoard[i] = Arrays.copyOf(gameBoard[i - 1], BOARD_WIDTH); // Copy row above
-        }
-        
-        Arrays.fill(gameBoard[0], 0); // Clear the top row (now empty)
+        return engine.moveDown();
     }
 
     /**
@@ -285,13 +192,7 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
      * @return true if game is over, false otherwise
      */
     public boolean isGameOver() {
-        // Check if any cell in the top row is filled
-        for (int j = 0; j < BOARD_WIDTH; j++) { // Check each column in top row
-            if (gameBoard[0][j] != 0) { // If any cell is filled
-                return true; // Game is over
-            }
-        }
-        return false; // Game is not over
+        return engine.isGameOver();
     }
 
     /**
@@ -308,82 +209,60 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
     }
 
     /**
-     * Paints the game board and all game elements
+     * Paints the part of the panel inside the clip
+     * The background and grid come from a cached image and only the cells
+     * inside the clip are drawn, so small repaints stay cheap
      * 
      * @param g The Graphics context to paint on
      */
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g); // Call superclass method
+        long frameStart = System.nanoTime(); // Start of the frame time measurement
         Graphics2D g2d = (Graphics2D) g; // Cast to Graphics2D for better rendering
-        
-        // Enable anti-aliasing for smoother rendering
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        
-        // Draw the game board background
-        g2d.setColor(BOARD_BACKGROUND); // Set background color
-        g2d.fillRect(0, 0, getWidth(), getHeight()); // Fill the entire panel
-        
-        // Draw the grid lines
-        g2d.setColor(GRID_COLOR); // Set grid color
-        for (int i = 0; i <= BOARD_HEIGHT; i++) { // Draw horizontal lines
-            g2d.drawLine(0, i * TILE_SIZE, BOARD_WIDTH * TILE_SIZE, i * TILE_SIZE);
+        Rectangle clip = g2d.getClipBounds(); // Area that needs painting
+        if (clip == null) { // Paint everything when there is no clip
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
         }
-        for (int j = 0; j <= BOARD_WIDTH; j++) { // Draw vertical lines
-            g2d.drawLine(j * TILE_SIZE, 0, j * TILE_SIZE, BOARD_HEIGHT * TILE_SIZE);
+        
+        // Copy the cached background and grid lines for the clipped area
+        if (background == null || background.getWidth() != getWidth() || background.getHeight() != getHeight()) {
+            createImages(); // First paint or the panel was resized
         }
+        g2d.drawImage(background, clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+            clip.x, clip.y, clip.x + clip.width, clip.y + clip.height, null);
         
-        // Draw the filled cells on the game board
-        for (int i = 0; i < BOARD_HEIGHT; i++) { // Iterate through rows
-            for (int j = 0; j < BOARD_WIDTH; j++) { // Iterate through columns
-                if (gameBoard[i][j] != 0) { // If cell is filled
-                    // Draw filled cell with gradient
-                    GradientPaint gradient = new GradientPaint(
-                        j * TILE_SIZE, i * TILE_SIZE, Color.LIGHT_GRAY,
-                        (j + 1) * TILE_SIZE, (i + 1) * TILE_SIZE, Color.DARK_GRAY
-                    );
-                    g2d.setPaint(gradient); // Set gradient paint
-                    g2d.fillRect(j * TILE_SIZE + 1, i * TILE_SIZE + 1, TILE_SIZE - 1, TILE_SIZE - 1); // Fill cell
-                    
-                    // Draw cell border
-                    g2d.setColor(Color.GRAY); // Set border color
-                    g2d.drawRect(j * TILE_SIZE + 1, i * TILE_SIZE + 1, TILE_SIZE - 2, TILE_SIZE - 2); // Draw border
+        // Draw only the cells that intersect the clip
+        BitBoard board = engine.getBoard(); // Settled cells
+        int[] pieceRows = BitBoard.PIECE_ROWS[engine.getPiece()][engine.getRotation()]; // Row masks of the falling block
+        BufferedImage pieceTile = pieceTiles[engine.getColor()]; // Image of a falling cell
+        int firstRow = Math.max(0, clip.y / TILE_SIZE); // Rows and columns inside the clip
+        int lastRow = Math.min(BOARD_HEIGHT - 1, (clip.y + clip.height) / TILE_SIZE);
+        int firstCol = Math.max(0, clip.x / TILE_SIZE);
+        int lastCol = Math.min(BOARD_WIDTH - 1, (clip.x + clip.width) / TILE_SIZE);
+        for (int i = firstRow; i <= lastRow; i++) { // Iterate through rows
+            int pieceRow = i - engine.getRow(); // Row of the falling block on this board row
+            int pieceMask = pieceRow >= 0 && pieceRow < pieceRows.length ? pieceRows[pieceRow] << engine.getCol() : 0;
+            for (int j = firstCol; j <= lastCol; j++) { // Iterate through columns
+                if ((pieceMask & (1 << j)) != 0) { // If this cell is part of the falling block
+                    g2d.drawImage(pieceTile, j * TILE_SIZE + 1, i * TILE_SIZE + 1, null);
+                } else if (board.isFilled(i, j)) { // If cell is filled
+                    g2d.drawImage(settledTile, j * TILE_SIZE + 1, i * TILE_SIZE + 1, null);
                 }
             }
         }
 
-        // Draw the current falling block
-        if (currentBlock != null) { // If there is a current block
-            // Create gradient for current block
-            GradientPaint blockGradient = new GradientPaint(
-                0, 0, currentBlock.color,
-                TILE_SIZE, TILE_SIZE, currentBlock.color.darker()
-            );
-            g2d.setPaint(blockGradient); // Set gradient paint
-            
-            // Draw each cell of the current block
-            for (int i = 0; i < currentBlock.shape.length; i++) { // Iterate through rows
-                for (int j = 0; j < currentBlock.shape[0].length; j++) { // Iterate through columns
-                    if (currentBlock.shape[i][j] != 0) { // If this cell is part of the block
-                        // Calculate position
-                        int x = (currentBlock.y + j) * TILE_SIZE; // X coordinate
-                        int y = (currentBlock.x + i) * TILE_SIZE; // Y coordinate
-                        
-                        // Draw filled cell
-                        g2d.fillRect(x + 1, y + 1, TILE_SIZE - 1, TILE_SIZE - 1); // Fill cell
-                        
-                        // Draw cell border
-                        g2d.setColor(currentBlock.color.darker()); // Set border color
-                        g2d.drawRect(x + 1, y + 1, TILE_SIZE - 2, TILE_SIZE - 2); // Draw border
-                    }
-                }
-            }
-        }
+        // Text is the only thing that still needs anti-aliasing
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
 
         // Draw the score
-        g2d.setColor(Color.WHITE); // Set text color
-        g2d.setFont(SCORE_FONT); // Set font
-        g2d.drawString("Score: " + score, 10, 20); // Draw score text
+        if (clip.intersects(SCORE_AREA)) { // Skip text outside the repainted area
+            g2d.setColor(Color.WHITE); // Set text color
+            g2d.setFont(SCORE_FONT); // Set font
+            g2d.drawString("Score: " + engine.getScore(), 10, 20); // Draw score text
+            if (showFrameTime) { // Draw the frame time overlay
+                g2d.drawString(String.format("Frame: %.3f ms", getAverageFrameNanos() / 1e6), 10, 40);
+            }
+        }
         
         // Draw pause message if game is paused
         if (isPaused) { // If game is paused
@@ -415,10 +294,126 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
             g2d.drawString(gameOverMsg, (getWidth() - msgWidth) / 2, getHeight() / 2 - 20); // Draw centered text
             
             // Draw final score
-            String scoreMsg = "Final Score: " + score; // Score message
+            String scoreMsg = "Final Score: " + engine.getScore(); // Score message
             msgWidth = fm.stringWidth(scoreMsg); // Calculate text width
             g2d.drawString(scoreMsg, (getWidth() - msgWidth) / 2, getHeight() / 2 + 20); // Draw centered text
         }
+        
+        // Record how long this frame took
+        lastFrameNanos = System.nanoTime() - frameStart; // Time spent in this frame
+        totalFrameNanos += lastFrameNanos; // Add to the running total
+        frameCount++; // Count the frame
+    }
+
+    /**
+     * Builds the cached background image and cell images
+     * The background holds the board color and grid lines; cells are drawn on top of it
+     */
+    private void createImages() {
+        background = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB); // Image the size of the panel
+        Graphics2D g2d = background.createGraphics(); // Draw into the image
+        
+        // Draw the game board background
+        g2d.setColor(BOARD_BACKGROUND); // Set background color
+        g2d.fillRect(0, 0, getWidth(), getHeight()); // Fill the entire image
+        
+        // Draw the grid lines
+        g2d.setColor(GRID_COLOR); // Set grid color
+        for (int i = 0; i <= BOARD_HEIGHT; i++) { // Draw horizontal lines
+            g2d.drawLine(0, i * TILE_SIZE, BOARD_WIDTH * TILE_SIZE, i * TILE_SIZE);
+        }
+        for (int j = 0; j <= BOARD_WIDTH; j++) { // Draw vertical lines
+            g2d.drawLine(j * TILE_SIZE, 0, j * TILE_SIZE, BOARD_HEIGHT * TILE_SIZE);
+        }
+        g2d.dispose(); // Release the image graphics
+        
+        settledTile = createTile(Color.LIGHT_GRAY, Color.DARK_GRAY, Color.GRAY); // Settled cells are gray
+        for (int c = 0; c < COLORS.length; c++) { // One image per block color
+            pieceTiles[c] = createTile(COLORS[c], COLORS[c].darker(), COLORS[c].darker());
+        }
+    }
+
+    /**
+     * Draws a single cell with a gradient fill and a border
+     * 
+     * @param from The gradient color at the top-left corner
+     * @param to The gradient color at the bottom-right corner
+     * @param border The border color
+     * @return The cell image, one pixel smaller than a tile to leave the grid line visible
+     */
+    private static BufferedImage createTile(Color from, Color to, Color border) {
+        int size = TILE_SIZE - 1; // Cell size inside the grid lines
+        BufferedImage tile = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB); // Opaque cell image
+        Graphics2D g2d = tile.createGraphics(); // Draw into the image
+        g2d.setPaint(new GradientPaint(0, 0, from, size, size, to)); // Set gradient paint
+        g2d.fillRect(0, 0, size, size); // Fill cell
+        g2d.setColor(border); // Set border color
+        g2d.drawRect(0, 0, size - 1, size - 1); // Draw border
+        g2d.dispose(); // Release the image graphics
+        return tile;
+    }
+
+    /**
+     * Repaints only the cells that changed since the last call, plus the score
+     * if it changed; falls back to a full repaint when an overlay is visible
+     */
+    private void repaintChanged() {
+        int[] pieceRows = BitBoard.PIECE_ROWS[engine.getPiece()][engine.getRotation()]; // Row masks of the falling block
+        boolean colorChanged = engine.getColor() != shownColor; // A recolored block must be redrawn in place
+        int minRow = BOARD_HEIGHT, maxRow = -1, changedCols = 0; // Bounds of the changed cells
+        for (int i = 0; i < BOARD_HEIGHT; i++) { // Compare each row with what is on screen
+            int pieceRow = i - engine.getRow(); // Row of the falling block on this board row
+            int piece = pieceRow >= 0 && pieceRow < pieceRows.length ? pieceRows[pieceRow] << engine.getCol() : 0;
+            int board = engine.getBoard().getRow(i); // Settled cells in this row
+            int changed = (board ^ shownBoard[i]) | (piece ^ shownPiece[i]); // Cells that look different now
+            if (colorChanged) { // Every falling cell changes color
+                changed |= piece | shownPiece[i];
+            }
+            if (changed != 0) { // Grow the dirty bounds
+                minRow = Math.min(minRow, i);
+                maxRow = i;
+                changedCols |= changed;
+            }
+            shownBoard[i] = board; // Remember what will be on screen
+            shownPiece[i] = piece;
+        }
+        shownColor = engine.getColor();
+
+        if (isPaused || engine.isGameOver()) { // Overlays cover the whole panel
+            repaint();
+        } else {
+            if (maxRow >= 0) { // Repaint the bounding box of the changed cells
+                int minCol = Integer.numberOfTrailingZeros(changedCols); // Leftmost changed column
+                int maxCol = 31 - Integer.numberOfLeadingZeros(changedCols); // Rightmost changed column
+                repaint(minCol * TILE_SIZE, minRow * TILE_SIZE,
+                    (maxCol - minCol + 1) * TILE_SIZE + 1, (maxRow - minRow + 1) * TILE_SIZE + 1);
+            }
+            if (engine.getScore() != shownScore || showFrameTime) { // Repaint the score text
+                repaint(SCORE_AREA);
+            }
+        }
+        shownScore = engine.getScore();
+    }
+
+    /**
+     * @return The number of frames painted so far
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return The time spent painting the most recent frame, in nanoseconds
+     */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     * @return The average time spent painting a frame, in nanoseconds
+     */
+    public double getAverageFrameNanos() {
+        return frameCount == 0 ? 0 : (double) totalFrameNanos / frameCount;
     }
 
     /**
@@ -430,13 +425,11 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
     @Override
     public void actionPerformed(ActionEvent e) {
         if (!isGameOver()) { // If game is not over
-            if (!moveDown()) { // Try to move block down
-                if (isGameOver()) { // Check if game is now over
-                    timer.stop(); // Stop the timer
-                    repaint(); // Redraw to show game over
-                }
+            if (!engine.tick()) { // Let gravity move the block down
+                timer.stop(); // Game just ended, stop the timer
+                stopRecording(); // The replay log is complete
             }
-            repaint(); // Redraw the game board
+            repaintChanged(); // Redraw the cells that moved
         }
     }
 
@@ -448,23 +441,12 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
     @Override
     public void keyPressed(KeyEvent e) {
         if (!isPaused && timer.isRunning()) { // Only process if game is running
-            switch (e.getKeyCode()) { // Check which key was pressed
-                case KeyEvent.VK_LEFT: // Left arrow key
-                    moveLeft(); // Move block left
-                    break;
-                case KeyEvent.VK_RIGHT: // Right arrow key
-                    moveRight(); // Move block right
-                    break;
-                case KeyEvent.VK_UP: // Up arrow key
-                    rotateBlock(); // Rotate block
-                    break;
-                case KeyEvent.VK_DOWN: // Down arrow key
-                    moveDown(); // Move block down
-                    break;
-                case KeyEvent.VK_SPACE: // Space key
-                    // Hard drop - move block down until it can't move further
-                    while (moveDown()) {} // Keep moving down until blocked
-                    break;
+            int action = toAction(e.getKeyCode()); // Engine input for this key
+            record(action); // Log it before it changes the game
+            engine.apply(action); // Let the engine handle the move
+            if (isGameOver()) { // A drop may have ended the game
+                timer.stop(); // Stop the timer
+                stopRecording(); // The replay log is complete
             }
         }
         
@@ -473,7 +455,36 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
             togglePause(); // Toggle pause state
         }
         
-        repaint(); // Redraw the game board
+        // Show/hide the frame time overlay with F key
+        if (e.getKeyCode() == KeyEvent.VK_F) { // F key
+            showFrameTime = !showFrameTime; // Toggle the overlay
+            repaint(SCORE_AREA); // Redraw the text area
+        }
+        
+        repaintChanged(); // Redraw the cells that moved
+    }
+
+    /**
+     * Maps a key code to an engine input action
+     * 
+     * @param keyCode The key code of the pressed key
+     * @return The matching TetrisEngine action, or NONE for other keys
+     */
+    private static int toAction(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_LEFT: // Left arrow key
+                return TetrisEngine.LEFT;
+            case KeyEvent.VK_RIGHT: // Right arrow key
+                return TetrisEngine.RIGHT;
+            case KeyEvent.VK_UP: // Up arrow key
+                return TetrisEngine.ROTATE;
+            case KeyEvent.VK_DOWN: // Down arrow key
+                return TetrisEngine.DOWN;
+            case KeyEvent.VK_SPACE: // Space key (hard drop)
+                return TetrisEngine.DROP;
+            default:
+                return TetrisEngine.NONE;
+        }
     }
 
     /**
@@ -500,7 +511,7 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
      * Main method to run the game
      * Creates the game window and starts the game
      * 
-     * @param args Command line arguments (not used)
+     * @param args Command line arguments: optionally --record followed by a replay log file
      */
     public static void main(String[] args) {
         // Use SwingUtilities to ensure thread safety
@@ -511,6 +522,19 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
             
             // Create game panel
             TetrisGame game = new TetrisGame(); // Create game instance
+            if (args.length == 2 && args[0].equals("--record")) { // Record the session
+                try {
+                    game.startRecording(Paths.get(args[1])); // Log every input from the start
+                } catch (IOException e) {
+                    System.err.println("Cannot record to " + args[1] + ": " + e.getMessage());
+                }
+            }
+            frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent e) {
+                    game.stopRecording(); // Finish the log before the program exits
+                }
+            });
             
             // Create a container panel with margin
             JPanel container = new JPanel(); // Create container panel
@@ -528,7 +552,7 @@ public class TetrisGame extends JPanel implements ActionListener, KeyListener {
             // Create instructions label
             JLabel instructionsLabel = new JLabel(
                 "<html><center>Controls: ← → Move | ↑ Rotate | ↓ Soft Drop<br>" +
-                "Space: Hard Drop | P: Pause</center></html>"
+                "Space: Hard Drop | P: Pause | F: Frame Time</center></html>"
             ); // Create label with HTML formatting
             instructionsLabel.setForeground(Color.LIGHT_GRAY); // Set text color
             instructionsLabel.setFont(new Font("Arial", Font.PLAIN, 12)); // Set font
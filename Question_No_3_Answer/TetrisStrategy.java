@@ -0,0 +1,16 @@
+package Question_No_3_Answer;
+
+/**
+ * A player for the headless engine: asked once per tick which input to apply
+ * before gravity moves the piece down
+ */
+@FunctionalInterface
+public interface TetrisStrategy {
+    /**
+     * Chooses the next input for a game in progress
+     *
+     * @param engine The game to play; strategies must not modify it directly
+     * @return One of the TetrisEngine action constants
+     */
+    int nextAction(TetrisEngine engine);
+}
@@ -0,0 +1,396 @@
+package Question_No_4_Answer;
+
+import java.util.Random;
+
+/**
+ * Keeps the answer of RoadTraversal.calculateMinimumRoadsPruned up to date while packages
+ * appear and disappear, without re-running the pruning over the whole road network.
+ * <p>
+ * The pruned solver first trims empty leaves, which leaves T, the smallest subtree that
+ * connects every package. It then trims two layers of leaves. A location survives both
+ * layers exactly when it has at least two T-neighbors that are themselves not T-leaves.
+ * Call these the core locations. They form a subtree, so the answer is 2 * (cores - 1).
+ * <p>
+ * The solver tracks T membership, each location's T-degree and its number of non-leaf
+ * T-neighbors, and the core count. Adding a package grafts the path from the package to
+ * T onto T. Removing one prunes the leaves it leaves behind. Each update costs time
+ * proportional to the number of locations that join or leave T, and O(1) when T is
+ * unchanged. Queries are O(1).
+ */
+public final class IncrementalRoadSolver {
+    private final int[] parent; // Parent of each location when the tree is rooted at location 0, -1 for the root
+    private final int[] depth; // Number of roads between each location and the root
+    private final boolean[] hasPackage; // Locations that currently hold a package
+    private final boolean[] inTree; // Locations in T, the subtree connecting all packages
+    private final int[] treeDegree; // Number of T-neighbors of each location in T
+    private final int[] treeNeighbors; // XOR of the T-neighbors, which names the last one when only one is left
+    private final int[] innerNeighbors; // Number of T-neighbors with a T-degree of at least 2
+    private final boolean[] isCore; // Locations that survive both layers of leaf trimming
+    private final int[] path; // Scratch for the locations on a path being grafted onto T
+    private int cores; // Number of core locations
+    private int top = -1; // Location of T closest to the root, -1 while T is empty
+
+    /**
+     * Builds the solver for a road network and an initial set of packages.
+     *
+     * @param packages Array representing whether a package is at a location (1 for present, 0 for absent).
+     * @param roads Array of pairs where each pair represents a road connecting two locations.
+     */
+    public IncrementalRoadSolver(int[] packages, int[][] roads) {
+        this(packages, RoadGraph.fromRoads(packages.length, roads));
+    }
+
+    /**
+     * Builds the solver for a road network and an initial set of packages.
+     *
+     * @param packages Array representing whether a package is at a location (1 for present, 0 for absent).
+     * @param graph The graph representing the roads between locations; must be a tree.
+     */
+    public IncrementalRoadSolver(int[] packages, RoadGraph graph) {
+        int locations = graph.size();
+        if (packages.length != locations) {
+            throw new IllegalArgumentException("Expected " + locations + " package entries, got " + packages.length);
+        }
+        parent = new int[locations];
+        depth = new int[locations];
+        hasPackage = new boolean[locations];
+        inTree = new boolean[locations];
+        treeDegree = new int[locations];
+        treeNeighbors = new int[locations];
+        innerNeighbors = new int[locations];
+        isCore = new boolean[locations];
+        path = new int[locations];
+        rootAtZero(graph);
+
+        for (int location = 0; location < locations; location++) {
+            if (packages[location] == 1) {
+                addPackage(location);
+            }
+        }
+    }
+
+    /**
+     * Records the parent and depth of every location with a BFS from location 0.
+     *
+     * @param graph The graph representing the roads between locations.
+     */
+    private void rootAtZero(RoadGraph graph) {
+        int locations = graph.size();
+        if (locations == 0) {
+            return;
+        }
+        if (graph.roadCount() != locations - 1) {
+            throw new IllegalArgumentException("Roads must form a tree");
+        }
+        IntRingQueue queue = new IntRingQueue(locations);
+        boolean[] reached = new boolean[locations];
+        parent[0] = -1;
+        reached[0] = true;
+        queue.add(0);
+        int reachedCount = 1;
+        while (!queue.isEmpty()) {
+            int location = queue.poll();
+            for (int edge = graph.edgeStart(location); edge < graph.edgeEnd(location); edge++) {
+                int neighbor = graph.target(edge);
+                if (!reached[neighbor]) {
+                    reached[neighbor] = true;
+                    parent[neighbor] = location;
+                    depth[neighbor] = depth[location] + 1;
+                    queue.add(neighbor);
+                    reachedCount++;
+                }
+            }
+        }
+        if (reachedCount != locations) {
+            throw new IllegalArgumentException("Roads must form a tree");
+        }
+    }
+
+    /**
+     * @return The minimum number of roads needed to collect all the packages and return.
+     */
+    public int minimumRoads() {
+        return 2 * Math.max(0, cores - 1);
+    }
+
+    /**
+     * @param location The location.
+     * @return true if a package is currently at the location.
+     */
+    public boolean hasPackage(int location) {
+        return hasPackage[location];
+    }
+
+    /**
+     * Puts a package at a location. Does nothing if one is already there.
+     *
+     * @param location The location.
+     */
+    public void addPackage(int location) {
+        if (hasPackage[location]) {
+            return;
+        }
+        hasPackage[location] = true;
+        if (inTree[location]) {
+            return; // T already passes through here
+        }
+        if (top < 0) {
+            inTree[location] = true; // First package: T is this one location
+            refresh(location);
+            top = location;
+            return;
+        }
+
+        // Climb from the new package until T is reached or we are level with its top
+        int count = 0;
+        int from = location;
+        while (!inTree[from] && depth[from] > depth[top]) {
+            path[count++] = from;
+            from = parent[from];
+        }
+        if (inTree[from]) {
+            graft(count, from); // Joined T from below
+            return;
+        }
+
+        // T lies in a different branch: climb both sides to their common ancestor, which becomes the top
+        int upper = top;
+        while (depth[upper] > depth[from]) {
+            int below = upper;
+            upper = parent[upper];
+            join(upper, below); // The new package is shallower than T
+        }
+        while (from != upper) {
+            path[count++] = from;
+            from = parent[from];
+            int below = upper;
+            upper = parent[upper];
+            join(upper, below); // Extend T upwards from its old top
+        }
+        top = upper;
+        graft(count, upper);
+    }
+
+    /**
+     * Takes the package away from a location. Does nothing if there is none.
+     * Locations of T that are left as empty leaves are pruned one by one.
+     *
+     * @param location The location.
+     */
+    public void removePackage(int location) {
+        if (!hasPackage[location]) {
+            return;
+        }
+        hasPackage[location] = false;
+        int leaf = location;
+        while (!hasPackage[leaf] && treeDegree[leaf] <= 1) {
+            if (treeDegree[leaf] == 0) {
+                inTree[leaf] = false; // Last location of T
+                refresh(leaf);
+                top = -1;
+                return;
+            }
+            int next = treeNeighbors[leaf]; // Its only T-neighbor
+            removeTreeRoad(leaf, next);
+            inTree[leaf] = false;
+            refresh(leaf);
+            if (leaf == top) {
+                top = next; // A leaf at the top can only hang above its child
+            }
+            leaf = next;
+        }
+    }
+
+    /**
+     * Adds the locations collected in path to T, from the end nearest T back to the first.
+     *
+     * @param count Number of locations in path.
+     * @param anchor The location of T that path[count - 1] is joined to.
+     */
+    private void graft(int count, int anchor) {
+        for (int i = count - 1; i >= 0; i--) {
+            join(path[i], anchor);
+            anchor = path[i];
+        }
+    }
+
+    /**
+     * Adds a location to T next to one of its locations.
+     *
+     * @param location The location joining T.
+     * @param anchor The location of T it is joined to.
+     */
+    private void join(int location, int anchor) {
+        inTree[location] = true;
+        addTreeRoad(location, anchor);
+    }
+
+    /**
+     * Adds a road between two locations of T and updates the counts of everything whose core
+     * status it can change. When a location's T-degree goes from 1 to 2 it stops being a leaf,
+     * which only its one previous T-neighbor can notice.
+     *
+     * @param a One end of the road.
+     * @param b The other end.
+     */
+    private void addTreeRoad(int a, int b) {
+        int onlyOfA = treeDegree[a] == 1 ? treeNeighbors[a] : -1; // Neighbor that sees a stop being a leaf
+        int onlyOfB = treeDegree[b] == 1 ? treeNeighbors[b] : -1;
+        if (onlyOfA >= 0) {
+            innerNeighbors[onlyOfA]++;
+        }
+        if (onlyOfB >= 0) {
+            innerNeighbors[onlyOfB]++;
+        }
+        if (treeDegree[b] >= 1) {
+            innerNeighbors[a]++; // b will have a T-degree of at least 2
+        }
+        if (treeDegree[a] >= 1) {
+            innerNeighbors[b]++;
+        }
+        treeDegree[a]++;
+        treeDegree[b]++;
+        treeNeighbors[a] ^= b;
+        treeNeighbors[b] ^= a;
+        refresh(a);
+        refresh(b);
+        if (onlyOfA >= 0) {
+            refresh(onlyOfA);
+        }
+        if (onlyOfB >= 0) {
+            refresh(onlyOfB);
+        }
+    }
+
+    /**
+     * Removes a road between two locations of T; the reverse of addTreeRoad.
+     *
+     * @param a One end of the road.
+     * @param b The other end.
+     */
+    private void removeTreeRoad(int a, int b) {
+        treeDegree[a]--;
+        treeDegree[b]--;
+        treeNeighbors[a] ^= b;
+        treeNeighbors[b] ^= a;
+        if (treeDegree[a] >= 1) {
+            innerNeighbors[b]--; // a had a T-degree of at least 2
+        }
+        if (treeDegree[b] >= 1) {
+            innerNeighbors[a]--;
+        }
+        int onlyOfA = treeDegree[a] == 1 ? treeNeighbors[a] : -1; // Neighbor that sees a become a leaf
+        int onlyOfB = treeDegree[b] == 1 ? treeNeighbors[b] : -1;
+        if (onlyOfA >= 0) {
+            innerNeighbors[onlyOfA]--;
+        }
+        if (onlyOfB >= 0) {
+            innerNeighbors[onlyOfB]--;
+        }
+        refresh(a);
+        refresh(b);
+        if (onlyOfA >= 0) {
+            refresh(onlyOfA);
+        }
+        if (onlyOfB >= 0) {
+            refresh(onlyOfB);
+        }
+    }
+
+    /**
+     * Recomputes whether a location is a core location and adjusts the core count.
+     *
+     * @param location The location.
+     */
+    private void refresh(int location) {
+        boolean core = inTree[location] && treeDegree[location] >= 2 && innerNeighbors[location] >= 2;
+        if (core != isCore[location]) {
+            isCore[location] = core;
+            cores += core ? 1 : -1;
+        }
+    }
+
+    public static void main(String[] args) {
+        // Same inputs as RoadTraversal
+        int[] packageLocations1 = {1, 0, 0, 0, 0, 1};
+        int[][] roads1 = {{0, 1}, {1, 2}, {2, 3}, {3, 4}, {4, 5}};
+        int[] packageLocations2 = {0, 0, 0, 1, 1, 0, 0, 1};
+        int[][] roads2 = {{0, 1}, {0, 2}, {1, 3}, {1, 4}, {2, 5}, {5, 6}, {5, 7}};
+
+        IncrementalRoadSolver solver1 = new IncrementalRoadSolver(packageLocations1, roads1);
+        runTest("Input 1", solver1.minimumRoads(), 2);
+        IncrementalRoadSolver solver2 = new IncrementalRoadSolver(packageLocations2, roads2);
+        runTest("Input 2", solver2.minimumRoads(), 2);
+
+        // Packages at both ends of the second network's 5-road path 3-1-0-2-5-6
+        solver2.removePackage(4);
+        solver2.removePackage(7);
+        solver2.addPackage(6);
+        runTest("Input 2 after moving packages", solver2.minimumRoads(), 2);
+        solver2.removePackage(3);
+        runTest("Input 2 with one package left", solver2.minimumRoads(), 0);
+        solver2.removePackage(6);
+        runTest("Input 2 with no packages", solver2.minimumRoads(), 0);
+        solver2.addPackage(7);
+        solver2.addPackage(4);
+        runTest("Input 2 with packages at 4 and 7", solver2.minimumRoads(), 2);
+
+        runSequenceTest(2, 30, 1);
+        runSequenceTest(12, 200, 2);
+        runSequenceTest(1000, 2000, 3);
+    }
+
+    /**
+     * Runs a test case to check the solver's answer after a series of updates.
+     *
+     * @param description What was applied to the solver.
+     * @param result The solver's answer.
+     * @param expected The expected number of roads.
+     */
+    private static void runTest(String description, int result, int expected) {
+        System.out.printf("Minimum roads for %s\n", description);
+        System.out.printf("Expected: %d, Got: %d\n", expected, result);
+        System.out.println(result == expected ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+
+    /**
+     * Applies random package additions and removals to a random tree and compares the solver
+     * with RoadTraversal.calculateMinimumRoadsPruned after every update.
+     *
+     * @param locations The number of locations in the tree.
+     * @param updates The number of updates to apply.
+     * @param seed The seed of the random tree and updates.
+     */
+    private static void runSequenceTest(int locations, int updates, long seed) {
+        Random random = new Random(seed);
+        int[][] roads = new int[locations - 1][];
+        for (int location = 1; location < locations; location++) {
+            roads[location - 1] = new int[]{location, random.nextInt(location)}; // Each location hangs off an earlier one
+        }
+        int[] packages = new int[locations];
+        for (int location = 0; location < locations; location++) {
+            packages[location] = random.nextInt(4) == 0 ? 1 : 0;
+        }
+
+        IncrementalRoadSolver solver = new IncrementalRoadSolver(packages, roads);
+        int mismatches = solver.minimumRoads() == RoadTraversal.calculateMinimumRoadsPruned(packages, roads) ? 0 : 1;
+        for (int update = 0; update < updates; update++) {
+            int location = random.nextInt(locations);
+            if (random.nextBoolean()) {
+                solver.addPackage(location);
+                packages[location] = 1;
+            } else {
+                solver.removePackage(location);
+                packages[location] = 0;
+            }
+            if (solver.minimumRoads() != RoadTraversal.calculateMinimumRoadsPruned(packages, roads)) {
+                mismatches++;
+            }
+        }
+        System.out.printf("Random tree of %d locations, %d updates\n", locations, updates);
+        System.out.printf("Expected: 0 mismatches, Got: %d\n", mismatches);
+        System.out.println(mismatches == 0 ? "Test PASSED" : "Test FAILED");
+        System.out.println();
+    }
+}
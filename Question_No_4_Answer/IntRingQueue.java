@@ -0,0 +1,87 @@
+package Question_No_4_Answer;
+
+/**
+ * A FIFO queue of ints backed by a circular array that doubles when full,
+ * so breadth-first searches can run without boxing or per-node allocation.
+ */
+public final class IntRingQueue {
+    public static final int MAX_CAPACITY = 1 << 30; // Largest power-of-two int array length
+    private int[] elements; // Circular buffer, length is a power of two
+    private int head; // Index of the oldest element
+    private int size; // Number of queued elements
+
+    /**
+     * Creates a queue with room for a number of elements before it has to grow.
+     *
+     * @param capacity The initial capacity, at most MAX_CAPACITY.
+     * @throws IllegalArgumentException If the capacity is above MAX_CAPACITY.
+     */
+    public IntRingQueue(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity " + capacity + " exceeds the limit of " + MAX_CAPACITY);
+        }
+        elements = new int[Integer.highestOneBit(Math.max(2, capacity - 1)) << 1];
+    }
+
+    /**
+     * Adds an element at the tail.
+     *
+     * @param value The element.
+     */
+    public void add(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Removes the element at the head. The queue must not be empty.
+     *
+     * @return The removed element.
+     */
+    public int poll() {
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * @return true if the queue holds no elements.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The number of queued elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every element, keeping the buffer for reuse.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Doubles the buffer, unrolling the queued elements to the front of the new one.
+     */
+    private void grow() {
+        if (elements.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Queue is full at its limit of " + MAX_CAPACITY + " elements");
+        }
+        int[] grown = new int[elements.length << 1];
+        int firstPart = elements.length - head; // Elements from head to the end of the old buffer
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, head);
+        elements = grown;
+        head = 0;
+    }
+}
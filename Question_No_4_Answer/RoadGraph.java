@@ -0,0 +1,110 @@
+package Question_No_4_Answer;
+
+/**
+ * An undirected road network in compressed sparse row form.
+ * The neighbors of location v are targets[offsets[v]] to targets[offsets[v + 1] - 1],
+ * in the order the roads were given, so the whole graph is two int arrays with no
+ * per-edge objects.
+ */
+public final class RoadGraph {
+    private final int[] offsets; // Start of each location's neighbors in targets, plus a final end marker
+    private final int[] targets; // Neighbors of every location, back to back
+
+    /**
+     * Wraps prebuilt CSR arrays without copying them.
+     *
+     * @param offsets Start index of each location's neighbors, with offsets[locations] == targets.length.
+     * @param targets Neighbors of every location, back to back.
+     */
+    RoadGraph(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Builds a graph from pairs of connected locations. Each road is added in both directions.
+     *
+     * @param locations The total number of locations.
+     * @param roads The roads connecting the locations.
+     * @return The graph.
+     */
+    public static RoadGraph fromRoads(int locations, int[][] roads) {
+        int[] offsets = new int[locations + 1];
+        for (int[] road : roads) {
+            offsets[road[0] + 1]++; // Count degrees one slot ahead...
+            offsets[road[1] + 1]++;
+        }
+        for (int location = 0; location < locations; location++) {
+            offsets[location + 1] += offsets[location]; // ...so the prefix sums are the start offsets
+        }
+
+        int[] targets = new int[offsets[locations]];
+        int[] next = new int[locations]; // Next free slot of each location
+        System.arraycopy(offsets, 0, next, 0, locations);
+        for (int[] road : roads) {
+            targets[next[road[0]]++] = road[1];
+            targets[next[road[1]]++] = road[0]; // Since roads are bidirectional
+        }
+        return new RoadGraph(offsets, targets);
+    }
+
+    /**
+     * @return The offsets array itself, for serialization; must not be modified.
+     */
+    int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * @return The targets array itself, for serialization; must not be modified.
+     */
+    int[] targets() {
+        return targets;
+    }
+
+    /**
+     * @return The number of locations.
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return The number of roads.
+     */
+    public int roadCount() {
+        return targets.length / 2;
+    }
+
+    /**
+     * @param location The location.
+     * @return The number of roads attached to it.
+     */
+    public int degree(int location) {
+        return offsets[location + 1] - offsets[location];
+    }
+
+    /**
+     * @param location The location.
+     * @return The index of its first neighbor, for use with target(int).
+     */
+    public int edgeStart(int location) {
+        return offsets[location];
+    }
+
+    /**
+     * @param location The location.
+     * @return One past the index of its last neighbor.
+     */
+    public int edgeEnd(int location) {
+        return offsets[location + 1];
+    }
+
+    /**
+     * @param edge An index between edgeStart(v) and edgeEnd(v) of some location v.
+     * @return The neighbor at that index.
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+}
@@ -0,0 +1,360 @@
+package Question_No_4_Answer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Binary road network files, read through memory mapping.
+ * An edge file is a header (int magic, int version, int locations, long roads)
+ * followed by one pair of int locations per road. A CSR cache file is a header
+ * (int magic, int version, int locations, int targets) followed by the offsets
+ * and targets arrays of a RoadGraph, so loading it is two bulk copies.
+ * All values are little-endian. A single mapping is limited to 2 GB, so the
+ * data is mapped as a series of 1 GB windows.
+ */
+public final class RoadNetworkFile {
+    static final int EDGE_MAGIC = 0x524F4144; // "ROAD"
+    static final int CSR_MAGIC = 0x52435352; // "RCSR"
+    static final int VERSION = 1;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final int EDGE_HEADER_BYTES = 20; // Magic, version, locations, long road count
+    private static final int CSR_HEADER_BYTES = 16; // Magic, version, locations, target count
+    private static final int WINDOW_INTS = 1 << 28; // 2^28 ints (1 GB) per mapped window, an even number
+    private static final int WRITE_BUFFER_BYTES = 1 << 20; // Staging buffer for writes
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8; // Largest safe Java array
+
+    private RoadNetworkFile() {
+    }
+
+    /**
+     * Writes roads as a binary edge file.
+     *
+     * @param file The file to create or replace.
+     * @param locations The total number of locations.
+     * @param roads Array of pairs where each pair represents a road connecting two locations.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeEdges(Path file, int locations, int[][] roads) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ORDER);
+            buffer.putInt(EDGE_MAGIC).putInt(VERSION).putInt(locations).putLong(roads.length);
+            for (int[] road : roads) {
+                if (buffer.remaining() < 2 * Integer.BYTES) {
+                    drain(channel, buffer);
+                }
+                buffer.putInt(road[0]).putInt(road[1]);
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Builds a graph straight from a mapped edge file, without creating an int[][] of roads.
+     * The roads are read twice: once to count degrees and once to fill the neighbor arrays.
+     *
+     * @param file The edge file.
+     * @return The graph.
+     * @throws IOException If the file cannot be read or is not a valid edge file.
+     */
+    public static RoadGraph load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = mapHeader(channel, EDGE_HEADER_BYTES, EDGE_MAGIC);
+            int locations = header.getInt(8);
+            long roads = header.getLong(12);
+            if (locations < 0 || locations >= MAX_ARRAY_LENGTH || roads < 0 || 2 * roads > MAX_ARRAY_LENGTH) {
+                throw new IOException("Unsupported road network size: " + locations + " locations, " + roads + " roads");
+            }
+            if (channel.size() != EDGE_HEADER_BYTES + roads * 2 * Integer.BYTES) {
+                throw new IOException("Edge file size does not match its header");
+            }
+            IntBuffer[] windows = mapInts(channel, EDGE_HEADER_BYTES, roads * 2);
+
+            // Count degrees one slot ahead so the prefix sums are the start offsets
+            int[] offsets = new int[locations + 1];
+            for (IntBuffer window : windows) {
+                for (int i = 0; i < window.limit(); i++) {
+                    int location = window.get(i);
+                    if (location < 0 || location >= locations) {
+                        throw new IOException("Road endpoint out of range: " + location);
+                    }
+                    offsets[location + 1]++;
+                }
+            }
+            for (int location = 0; location < locations; location++) {
+                offsets[location + 1] += offsets[location];
+            }
+
+            // Fill both directions of every road, in file order
+            int[] targets = new int[offsets[locations]];
+            int[] next = new int[locations]; // Next free slot of each location
+            System.arraycopy(offsets, 0, next, 0, locations);
+            for (IntBuffer window : windows) {
+                for (int i = 0; i < window.limit(); i += 2) {
+                    int from = window.get(i);
+                    int to = window.get(i + 1);
+                    targets[next[from]++] = to;
+                    targets[next[to]++] = from;
+                }
+            }
+            return new RoadGraph(offsets, targets);
+        }
+    }
+
+    /**
+     * Writes a graph's CSR arrays to a cache file. The file is written under a temporary
+     * name and moved into place, so a reader never sees a half-written cache.
+     *
+     * @param graph The graph.
+     * @param file The cache file to create or replace.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeCache(RoadGraph graph, Path file) throws IOException {
+        Path partial = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ORDER);
+            buffer.putInt(CSR_MAGIC).putInt(VERSION).putInt(graph.size()).putInt(graph.targets().length);
+            writeInts(channel, buffer, graph.offsets());
+            writeInts(channel, buffer, graph.targets());
+            drain(channel, buffer);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a graph from a CSR cache file. Offsets must never decrease and every
+     * neighbor must be a valid location, so a corrupt cache is rejected here rather
+     * than failing later inside a solver.
+     *
+     * @param file The cache file.
+     * @return The graph.
+     * @throws IOException If the file cannot be read or is not a valid cache file.
+     */
+    public static RoadGraph loadCache(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = mapHeader(channel, CSR_HEADER_BYTES, CSR_MAGIC);
+            int locations = header.getInt(8);
+            int targetCount = header.getInt(12);
+            if (locations < 0 || locations >= MAX_ARRAY_LENGTH || targetCount < 0) {
+                throw new IOException("Unsupported road network size: " + locations + " locations, " + targetCount + " targets");
+            }
+            if (channel.size() != CSR_HEADER_BYTES + ((long) locations + 1 + targetCount) * Integer.BYTES) {
+                throw new IOException("Cache file size does not match its header");
+            }
+            int[] offsets = readInts(channel, CSR_HEADER_BYTES, locations + 1);
+            int[] targets = readInts(channel, CSR_HEADER_BYTES + (long) offsets.length * Integer.BYTES, targetCount);
+            if (offsets[0] != 0 || offsets[locations] != targetCount) {
+                throw new IOException("Corrupt cache file offsets");
+            }
+            for (int location = 0; location < locations; location++) {
+                if (offsets[location + 1] < offsets[location]) {
+                    throw new IOException("Corrupt cache file: offsets decrease at location " + location);
+                }
+            }
+            for (int i = 0; i < targetCount; i++) {
+                if (targets[i] < 0 || targets[i] >= locations) {
+                    throw new IOException("Corrupt cache file: neighbor out of range: " + targets[i]);
+                }
+            }
+            return new RoadGraph(offsets, targets);
+        }
+    }
+
+    /**
+     * Loads a graph from its CSR cache when the cache is at least as new as the edge file,
+     * otherwise builds it from the edge file and refreshes the cache.
+     *
+     * @param edges The edge file.
+     * @param cache The cache file, which need not exist yet.
+     * @return The graph.
+     * @throws IOException If neither file can be read.
+     */
+    public static RoadGraph loadCached(Path edges, Path cache) throws IOException {
+        if (Files.exists(cache) && Files.getLastModifiedTime(cache).compareTo(Files.getLastModifiedTime(edges)) >= 0) {
+            try {
+                return loadCache(cache);
+            } catch (IOException e) {
+                // Unreadable or stale cache: fall through and rebuild it
+            }
+        }
+        RoadGraph graph = load(edges);
+        writeCache(graph, cache);
+        return graph;
+    }
+
+    /**
+     * Maps and checks a file header.
+     *
+     * @param channel The open file.
+     * @param length The header length in bytes.
+     * @param magic The expected magic number.
+     * @return The header bytes, in file byte order.
+     * @throws IOException If the file is too short or has the wrong magic number or version.
+     */
+    private static ByteBuffer mapHeader(FileChannel channel, int length, int magic) throws IOException {
+        if (channel.size() < length) {
+            throw new IOException("File too short for a road network header");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ORDER);
+        if (header.getInt(0) != magic) {
+            throw new IOException("Not a road network file of the expected kind");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported road network file version: " + header.getInt(4));
+        }
+        return header;
+    }
+
+    /**
+     * Maps a run of ints as a series of windows.
+     *
+     * @param channel The open file.
+     * @param position Byte offset of the first int.
+     * @param count Number of ints.
+     * @return One int view per window, each holding at most WINDOW_INTS ints.
+     * @throws IOException If a window cannot be mapped.
+     */
+    private static IntBuffer[] mapInts(FileChannel channel, long position, long count) throws IOException {
+        int windowCount = (int) ((count + WINDOW_INTS - 1) / WINDOW_INTS);
+        IntBuffer[] windows = new IntBuffer[windowCount];
+        for (int w = 0; w < windowCount; w++) {
+            long first = (long) w * WINDOW_INTS;
+            long length = Math.min(WINDOW_INTS, count - first);
+            windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, position + first * Integer.BYTES,
+                    length * Integer.BYTES).order(ORDER).asIntBuffer();
+        }
+        return windows;
+    }
+
+    /**
+     * Copies a run of mapped ints into a new array.
+     *
+     * @param channel The open file.
+     * @param position Byte offset of the first int.
+     * @param count Number of ints.
+     * @return The ints.
+     * @throws IOException If a window cannot be mapped.
+     */
+    private static int[] readInts(FileChannel channel, long position, int count) throws IOException {
+        int[] values = new int[count];
+        int copied = 0;
+        for (IntBuffer window : mapInts(channel, position, count)) {
+            int length = window.remaining();
+            window.get(values, copied, length);
+            copied += length;
+        }
+        return values;
+    }
+
+    /**
+     * Appends ints through the staging buffer, draining it to the channel whenever it fills up.
+     *
+     * @param channel The open file.
+     * @param buffer The staging buffer.
+     * @param values The ints to write.
+     * @throws IOException If a write fails.
+     */
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values) throws IOException {
+        int written = 0;
+        while (written < values.length) {
+            if (buffer.remaining() < Integer.BYTES) {
+                drain(channel, buffer);
+            }
+            int length = Math.min(values.length - written, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(values, written, length);
+            buffer.position(buffer.position() + length * Integer.BYTES);
+            written += length;
+        }
+    }
+
+    /**
+     * Writes everything in the staging buffer and empties it.
+     *
+     * @param channel The open file.
+     * @param buffer The staging buffer.
+     * @throws IOException If a write fails.
+     */
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Second sample network from RoadTraversal, written, loaded and cached
+        int[] packages = {0, 0, 0, 1, 1, 0, 0, 1};
+        int[][] roads = {{0, 1}, {0, 2}, {1, 3}, {1, 4}, {2, 5}, {5, 6}, {5, 7}};
+        Path dir = Files.createTempDirectory("roads");
+        Path edges = dir.resolve("network.roads");
+        Path cache = dir.resolve("network.csr");
+        writeEdges(edges, packages.length, roads);
+
+        RoadGraph loaded = load(edges);
+        System.out.println("Minimum roads from mapped file: " + RoadTraversal.calculateMinimumRoadsPruned(packages, loaded));
+        RoadGraph built = loadCached(edges, cache); // Builds and writes the cache
+        RoadGraph cached = loadCached(edges, cache); // Reads the cache
+        System.out.println("Minimum roads from CSR cache: " + RoadTraversal.calculateMinimumRoadsPruned(packages, cached));
+        System.out.println("Cache matches edge file: " + (sameGraph(loaded, built) && sameGraph(loaded, cached)));
+
+        // Corrupt the last neighbor in the cache: it must be rejected and rebuilt from the edge file
+        try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.WRITE)) {
+            ByteBuffer bad = ByteBuffer.allocate(Integer.BYTES).order(ORDER).putInt(0, packages.length);
+            channel.write(bad, channel.size() - Integer.BYTES);
+        }
+        boolean rejected;
+        try {
+            loadCache(cache);
+            rejected = false;
+        } catch (IOException e) {
+            rejected = true;
+        }
+        System.out.println("Corrupt cache rejected: " + rejected);
+        System.out.println("Corrupt cache rebuilt: " + sameGraph(loaded, loadCached(edges, cache)));
+
+        // A header claiming more locations than an array can hold must fail as a bad file
+        writeEdges(edges, Integer.MAX_VALUE, new int[0][]);
+        try {
+            load(edges);
+            rejected = false;
+        } catch (IOException e) {
+            rejected = true;
+        }
+        System.out.println("Oversized edge file rejected: " + rejected);
+
+        Files.delete(edges);
+        Files.delete(cache);
+        Files.delete(dir);
+
+        // Optional benchmark: RoadNetworkFile <edge file> <cache file>
+        if (args.length == 2) {
+            long start = System.nanoTime();
+            RoadGraph graph = loadCached(Paths.get(args[0]), Paths.get(args[1]));
+            System.out.printf("Loaded %d locations and %d roads in %.1f ms%n",
+                    graph.size(), graph.roadCount(), (System.nanoTime() - start) / 1e6);
+        }
+    }
+
+    /**
+     * Compares two graphs edge by edge.
+     *
+     * @param a The first graph.
+     * @param b The second graph.
+     * @return true if both have the same neighbors in the same order.
+     */
+    private static boolean sameGraph(RoadGraph a, RoadGraph b) {
+        return Arrays.equals(a.offsets(), b.offsets()) && Arrays.equals(a.targets(), b.targets());
+    }
+}
@@ -1,11 +1,11 @@
 package Question_No_4_Answer;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class RoadTraversal {
+    private static final int MIN_STARTS_PER_TASK = 64; // Fewer starts than this are not worth a task
     /**
      * The main method where the program starts. It takes two inputs: 
      * the locations of the packages and the roads connecting them.
@@ -27,6 +27,14 @@ public class RoadTraversal {
         // Calculate and print the minimum number of roads to traverse for the second input
         int minRoads2 = calculateMinimumRoads(packageLocations2, roads2);
         System.out.println("Minimum roads to traverse for Input 2: " + minRoads2);
+
+        // The linear-time solver on the same inputs
+        System.out.println("Minimum roads with pruning for Input 1: " + calculateMinimumRoadsPruned(packageLocations1, roads1));
+        System.out.println("Minimum roads with pruning for Input 2: " + calculateMinimumRoadsPruned(packageLocations2, roads2));
+
+        // Every start location evaluated in parallel
+        System.out.println("Minimum roads in parallel for Input 1: " + calculateMinimumRoadsParallel(packageLocations1, roads1));
+        System.out.println("Minimum roads in parallel for Input 2: " + calculateMinimumRoadsParallel(packageLocations2, roads2));
     }
 
     /**
@@ -39,21 +47,99 @@ public class RoadTraversal {
      * @return The minimum number of roads needed to collect all the packages.
      */
     public static int calculateMinimumRoads(int[] packages, int[][] roads) {
-        int locations = packages.length; // Total number of locations
-        List<List<Integer>> adjacencyList = createGraph(locations, roads); // Build the graph from the roads
+        return calculateMinimumRoads(packages, RoadGraph.fromRoads(packages.length, roads)); // Build the graph from the roads
+    }
 
+    /**
+     * Same as calculateMinimumRoads, on a graph that was already built or loaded from a file.
+     *
+     * @param packages Array representing whether a package is at a location (1 for present, 0 for absent).
+     * @param graph The graph representing the roads between locations.
+     * @return The minimum number of roads needed to collect all the packages.
+     */
+    public static int calculateMinimumRoads(int[] packages, RoadGraph graph) {
+        int locations = checkLocations(packages, graph); // Total number of locations
+        SearchState state = new SearchState(packages); // Visited set, queue and package view reused by every start
+        return minimumRoadsFrom(graph, state, 0, locations); // Try starting from every possible location
+    }
+
+    /**
+     * Same as calculateMinimumRoads, but evaluates the start locations in parallel on the common fork-join pool.
+     *
+     * @param packages Array representing whether a package is at a location (1 for present, 0 for absent).
+     * @param roads Array of pairs where each pair represents a road connecting two locations.
+     * @return The minimum number of roads needed to collect all the packages.
+     */
+    public static int calculateMinimumRoadsParallel(int[] packages, int[][] roads) {
+        return calculateMinimumRoadsParallel(packages, roads, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as calculateMinimumRoads, but evaluates the start locations in parallel on the given pool.
+     * Each leaf task allocates one search state and reuses it for all of its starts, so nothing
+     * outlives the call; every start reads packages through its own copy-on-write view, and the
+     * per-task minimums are combined with a lock-free atomic minimum.
+     *
+     * @param packages Array representing whether a package is at a location (1 for present, 0 for absent).
+     * @param roads Array of pairs where each pair represents a road connecting two locations.
+     * @param pool The pool that evaluates the start locations.
+     * @return The minimum number of roads needed to collect all the packages.
+     */
+    public static int calculateMinimumRoadsParallel(int[] packages, int[][] roads, ForkJoinPool pool) {
+        return calculateMinimumRoadsParallel(packages, RoadGraph.fromRoads(packages.length, roads), pool);
+    }
+
+    /**
+     * Same as calculateMinimumRoadsParallel, on a graph that was already built or loaded from a file.
+     *
+     * @param packages Array representing whether a package is at a location (1 for present, 0 for absent).
+     * @param graph The graph representing the roads between locations.
+     * @param pool The pool that evaluates the start locations.
+     * @return The minimum number of roads needed to collect all the packages.
+     */
+    public static int calculateMinimumRoadsParallel(int[] packages, RoadGraph graph, ForkJoinPool pool) {
+        int locations = checkLocations(packages, graph); // Total number of locations
+        AtomicInteger minimumRoads = new AtomicInteger(Integer.MAX_VALUE); // Shared minimum over all starts
+        int chunkSize = Math.max(MIN_STARTS_PER_TASK, locations / (pool.getParallelism() * 8)); // Several tasks per worker
+        pool.invoke(new StartRangeTask(packages, graph, minimumRoads, 0, locations, chunkSize));
+        return minimumRoads.get();
+    }
+
+    /**
+     * Checks that there is one package entry per location of the graph.
+     *
+     * @param packages Array representing whether a package is at a location.
+     * @param graph The graph representing the roads between locations.
+     * @return The number of locations.
+     */
+    private static int checkLocations(int[] packages, RoadGraph graph) {
+        if (packages.length != graph.size()) {
+            throw new IllegalArgumentException("Expected " + graph.size() + " package entries, got " + packages.length);
+        }
+        return packages.length;
+    }
+
+    /**
+     * Runs the collect-and-return search from a range of start locations.
+     *
+     * @param graph The graph representing the roads between locations.
+     * @param state Search state owned by the calling thread.
+     * @param from The first start location.
+     * @param to One past the last start location.
+     * @return The least number of roads traveled from any start in the range, or Integer.MAX_VALUE if it is empty.
+     */
+    private static int minimumRoadsFrom(RoadGraph graph, SearchState state, int from, int to) {
         int minimumRoads = Integer.MAX_VALUE; // Initialize the minimum roads with a very large number
 
-        // Try starting from every possible location
-        for (int startLocation = 0; startLocation < locations; startLocation++) {
-            boolean[] visitedLocations = new boolean[locations]; // Tracks which locations we've already visited
+        for (int startLocation = from; startLocation < to; startLocation++) {
+            state.reset(); // Nothing visited and every original package back in place
             int roadsTraveled = 0; // Keeps count of the roads traveled
 
             // Traverse the roads to collect all the packages (limit to a distance of 2 roads)
-            roadsTraveled += bfsToCollectPackages(startLocation, adjacencyList, packages, visitedLocations);
+            roadsTraveled += bfsToCollectPackages(startLocation, graph, state);
 
             // Backtrack to the starting location
-            roadsTraveled += returnToStart(startLocation, adjacencyList, visitedLocations);
+            roadsTraveled += returnToStart(startLocation, graph, state);
 
             // Update the minimum roads if fewer roads were traveled
             minimumRoads = Math.min(minimumRoads, roadsTraveled);
@@ -63,27 +149,138 @@ public class RoadTraversal {
     }
 
     /**
-     * Builds a graph from the provided roads, where each node contains a list of its connected nodes.
+     * Calculates the minimum number of roads to traverse to collect every package, when a package
+     * can be collected from up to 2 roads away and the walk must end where it started.
+     * The roads must form a tree. Leaves without packages are trimmed repeatedly since no walk needs
+     * them, then two more layers of leaves are trimmed since their packages can be collected from
+     * 2 roads away. Every road left must be walked once in each direction. Runs in O(V + E).
+     *
+     * @param packages Array representing whether a package is at a location (1 for present, 0 for absent).
+     * @param roads Array of pairs where each pair represents a road connecting two locations.
+     * @return The minimum number of roads needed to collect all the packages and return.
+     * @throws IllegalArgumentException If the roads do not form a tree.
+     */
+    public static int calculateMinimumRoadsPruned(int[] packages, int[][] roads) {
+        return calculateMinimumRoadsPruned(packages, RoadGraph.fromRoads(packages.length, roads)); // Build the graph from the roads
+    }
+
+    /**
+     * Same as calculateMinimumRoadsPruned, on a graph that was already built or loaded from a file.
      *
-     * @param locations The total number of locations.
-     * @param roads The roads connecting the locations.
-     * @return A list where each index corresponds to a location and holds its neighbors.
+     * @param packages Array representing whether a package is at a location (1 for present, 0 for absent).
+     * @param graph The graph representing the roads between locations; must be a tree.
+     * @return The minimum number of roads needed to collect all the packages and return.
+     * @throws IllegalArgumentException If the roads do not form a tree.
      */
-    private static List<List<Integer>> createGraph(int locations, int[][] roads) {
-        List<List<Integer>> graph = new ArrayList<>();
-        for (int i = 0; i < locations; i++) {
-            graph.add(new ArrayList<>()); // Initialize an empty list for each location
+    public static int calculateMinimumRoadsPruned(int[] packages, RoadGraph graph) {
+        int locations = checkLocations(packages, graph); // Total number of locations
+        if (locations > 0 && graph.roadCount() != locations - 1) {
+            throw new IllegalArgumentException("Roads must form a tree");
         }
+        int[] degree = new int[locations]; // Number of roads still attached to each location
+        for (int location = 0; location < locations; location++) {
+            degree[location] = graph.degree(location);
+        }
+
+        int[] queue = new int[locations]; // Each location is trimmed at most once
+        int head = 0, tail = 0;
+        int remainingRoads = graph.roadCount();
 
-        // Add the roads to the adjacency list for both connected locations
-        for (int[] road : roads) {
-            int from = road[0];
-            int to = road[1];
-            graph.get(from).add(to);
-            graph.get(to).add(from); // Since roads are bidirectional
+        // Trim leaves without packages until every leaf holds a package
+        for (int location = 0; location < locations; location++) {
+            if (degree[location] == 1 && packages[location] == 0) {
+                queue[tail++] = location;
+            }
+        }
+        while (head < tail) {
+            int leaf = queue[head++];
+            if (degree[leaf] == 0) {
+                continue; // Its last road went with the other end of a two-location tree
+            }
+            degree[leaf] = 0; // The leaf is gone along with its only road
+            remainingRoads--;
+            for (int edge = graph.edgeStart(leaf); edge < graph.edgeEnd(leaf); edge++) {
+                int neighbor = graph.target(edge);
+                if (degree[neighbor] > 0 && --degree[neighbor] == 1 && packages[neighbor] == 0) {
+                    queue[tail++] = neighbor; // The neighbor just became an empty leaf
+                }
+            }
+        }
+
+        checkCoreIsTree(graph, degree, remainingRoads);
+
+        // Trim two layers of leaves, whose packages are reachable from 2 roads away
+        for (int layer = 0; layer < 2 && remainingRoads > 0; layer++) {
+            int layerStart = tail;
+            for (int location = 0; location < locations; location++) {
+                if (degree[location] == 1) {
+                    queue[tail++] = location;
+                }
+            }
+            for (int i = layerStart; i < tail; i++) {
+                int leaf = queue[i];
+                if (degree[leaf] == 0) {
+                    continue; // Its last road went with the other end of a two-location tree
+                }
+                degree[leaf] = 0;
+                remainingRoads--;
+                for (int edge = graph.edgeStart(leaf); edge < graph.edgeEnd(leaf); edge++) {
+                    int neighbor = graph.target(edge);
+                    if (degree[neighbor] > 0) {
+                        degree[neighbor]--;
+                    }
+                }
+            }
+        }
+
+        return 2 * Math.max(0, remainingRoads); // Every remaining road is walked there and back
+    }
+
+    /**
+     * Checks that the locations left after trimming leaves form a tree. Trimming a leaf keeps a tree
+     * a tree and never removes a cycle, so with one road fewer than locations overall, the graph is
+     * a tree exactly when its trimmed core is empty or is one connected piece with one road fewer
+     * than locations.
+     *
+     * @param graph The graph representing the roads between locations.
+     * @param degree Roads still attached to each location; 0 for trimmed locations.
+     * @param remainingRoads The number of roads left after trimming.
+     * @throws IllegalArgumentException If the core is not a tree.
+     */
+    private static void checkCoreIsTree(RoadGraph graph, int[] degree, int remainingRoads) {
+        if (remainingRoads == 0) {
+            return; // A cycle is never trimmed, so the graph was a forest, and with this many roads a tree
+        }
+        int coreSize = 0, start = 0;
+        for (int location = 0; location < degree.length; location++) {
+            if (degree[location] > 0) {
+                coreSize++;
+                start = location;
+            }
+        }
+        if (remainingRoads != coreSize - 1) {
+            throw new IllegalArgumentException("Roads must form a tree");
         }
 
-        return graph;
+        // The core must also be connected
+        boolean[] reached = new boolean[degree.length];
+        int[] queue = new int[coreSize];
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        reached[start] = true;
+        while (head < tail) {
+            int location = queue[head++];
+            for (int edge = graph.edgeStart(location); edge < graph.edgeEnd(location); edge++) {
+                int neighbor = graph.target(edge);
+                if (degree[neighbor] > 0 && !reached[neighbor]) {
+                    reached[neighbor] = true;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        if (tail != coreSize) {
+            throw new IllegalArgumentException("Roads must form a tree");
+        }
     }
 
     /**
@@ -92,14 +289,14 @@ public class RoadTraversal {
      *
      * @param start The starting location.
      * @param graph The graph representing the roads between locations.
-     * @param packages The array indicating which locations have packages.
-     * @param visited Tracks the locations that have already been visited during the search.
+     * @param state The visited locations, BFS queue and package view of this start.
      * @return The total number of roads traversed while collecting the packages.
      */
-    private static int bfsToCollectPackages(int start, List<List<Integer>> graph, int[] packages, boolean[] visited) {
-        Queue<Integer> queue = new LinkedList<>();
+    private static int bfsToCollectPackages(int start, RoadGraph graph, SearchState state) {
+        IntRingQueue queue = state.queue;
+        queue.clear();
         queue.add(start); // Start from the given location
-        visited[start] = true; // Mark the start location as visited
+        state.visit(start); // Mark the start location as visited
 
         int roadsTraveled = 0;
 
@@ -110,14 +307,15 @@ public class RoadTraversal {
                 int currentLocation = queue.poll(); // Dequeue a location
 
                 // If there's a package at this location, mark it as collected
-                if (packages[currentLocation] == 1) {
-                    packages[currentLocation] = 0; // Package is now collected
+                if (state.hasPackage(currentLocation)) {
+                    state.collect(currentLocation); // Package is now collected
                 }
 
                 // Explore all neighbors (connected locations)
-                for (int neighbor : graph.get(currentLocation)) {
-                    if (!visited[neighbor]) { // If this location hasn't been visited yet
-                        visited[neighbor] = true; // Mark it as visited
+                for (int edge = graph.edgeStart(currentLocation); edge < graph.edgeEnd(currentLocation); edge++) {
+                    int neighbor = graph.target(edge);
+                    if (!state.isVisited(neighbor)) { // If this location hasn't been visited yet
+                        state.visit(neighbor); // Mark it as visited
                         queue.add(neighbor); // Add it to the queue
                         roadsTraveled++; // Count this road as traveled
                     }
@@ -133,13 +331,14 @@ public class RoadTraversal {
      *
      * @param start The starting location.
      * @param graph The graph representing the roads.
-     * @param visited Locations that have been visited during backtracking.
+     * @param state The visited locations and BFS queue of this start.
      * @return The number of roads traveled during the backtracking process.
      */
-    private static int returnToStart(int start, List<List<Integer>> graph, boolean[] visited) {
-        Queue<Integer> queue = new LinkedList<>();
+    private static int returnToStart(int start, RoadGraph graph, SearchState state) {
+        IntRingQueue queue = state.queue;
+        queue.clear();
         queue.add(start); // Start the backtrack from the original location
-        visited[start] = true; // Mark it as visited
+        state.visit(start); // Mark it as visited
 
         int roadsTraveled = 0;
 
@@ -153,9 +352,10 @@ public class RoadTraversal {
             }
 
             // Explore all neighbors of the current location
-            for (int neighbor : graph.get(currentLocation)) {
-                if (!visited[neighbor]) { // If a neighbor hasn't been visited yet
-                    visited[neighbor] = true;
+            for (int edge = graph.edgeStart(currentLocation); edge < graph.edgeEnd(currentLocation); edge++) {
+                int neighbor = graph.target(edge);
+                if (!state.isVisited(neighbor)) { // If a neighbor hasn't been visited yet
+                    state.visit(neighbor);
                     queue.add(neighbor); // Add it to the queue
                     roadsTraveled++; // Count the road as traveled
                 }
@@ -164,4 +364,116 @@ public class RoadTraversal {
 
         return roadsTraveled;
     }
+
+    /**
+     * Scratch for one sequential run of the try-every-start search: a visited bitset, a BFS queue and a
+     * copy-on-write view of the packages. Only the locations a start touched are cleared between
+     * starts, so resetting costs as much as the search itself rather than O(locations).
+     */
+    private static final class SearchState {
+        final IntRingQueue queue; // BFS queue
+        private final int[] packages; // Original packages, never written
+        private final long[] visited; // Bit per location visited by the current start
+        private final long[] collected; // Bit per package collected by the current start
+        private final int[] touched; // Locations whose bits are set, for a cheap reset
+        private int touchedCount;
+
+        /**
+         * Creates the scratch for a package array.
+         *
+         * @param packages The original packages; read but never modified.
+         */
+        SearchState(int[] packages) {
+            this.packages = packages;
+            this.queue = new IntRingQueue(packages.length);
+            this.visited = new long[(packages.length + 63) >>> 6];
+            this.collected = new long[visited.length];
+            this.touched = new int[packages.length];
+        }
+
+        /**
+         * @param location The location.
+         * @return true if the current start has visited it.
+         */
+        boolean isVisited(int location) {
+            return (visited[location >>> 6] & (1L << location)) != 0;
+        }
+
+        /**
+         * Marks a location as visited by the current start.
+         *
+         * @param location The location.
+         */
+        void visit(int location) {
+            if (!isVisited(location)) {
+                visited[location >>> 6] |= 1L << location;
+                touched[touchedCount++] = location;
+            }
+        }
+
+        /**
+         * @param location The location.
+         * @return true if it had a package that the current start has not collected yet.
+         */
+        boolean hasPackage(int location) {
+            return packages[location] == 1 && (collected[location >>> 6] & (1L << location)) == 0;
+        }
+
+        /**
+         * Collects the package at a visited location, for the current start only.
+         *
+         * @param location The location.
+         */
+        void collect(int location) {
+            collected[location >>> 6] |= 1L << location;
+        }
+
+        /**
+         * Forgets everything the previous start visited and collected.
+         */
+        void reset() {
+            // Every set bit belongs to a touched location, so clearing whole words is safe
+            for (int i = 0; i < touchedCount; i++) {
+                int word = touched[i] >>> 6;
+                visited[word] = 0;
+                collected[word] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    /**
+     * Splits a range of start locations until it is small enough to search sequentially,
+     * then folds its minimum into the shared one.
+     */
+    private static final class StartRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] packages;
+        private final RoadGraph graph;
+        private final AtomicInteger minimumRoads;
+        private final int from, to, chunkSize;
+
+        StartRangeTask(int[] packages, RoadGraph graph, AtomicInteger minimumRoads, int from, int to, int chunkSize) {
+            this.packages = packages;
+            this.graph = graph;
+            this.minimumRoads = minimumRoads;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                // A few leaves per worker, so one O(locations) state each is cheap next to the searches
+                int roads = minimumRoadsFrom(graph, new SearchState(packages), from, to);
+                minimumRoads.accumulateAndGet(roads, Math::min);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new StartRangeTask(packages, graph, minimumRoads, from, mid, chunkSize),
+                      new StartRangeTask(packages, graph, minimumRoads, mid, to, chunkSize));
+        }
+    }
 }